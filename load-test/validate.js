@@ -0,0 +1,33 @@
+// Validation load test: k6 run -e TOKEN=<jwt> -e CUSTOMER_ID=<uuid> load-test/validate.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '5000');
+
+export const options = {
+    scenarios: {
+        validate: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = {
+    headers: {
+        'Content-Type': 'application/json',
+        'Authorization': `Bearer ${__ENV.TOKEN}`,
+    },
+};
+
+export default function () {
+    const byId = http.get(`${BASE_URL}/v1/customers/${__ENV.CUSTOMER_ID}/validate`, params);
+    check(byId, { 'validate by id is 200': (r) => r.status === 200 });
+
+    const byDocument = http.post(`${BASE_URL}/v1/customers/validate`,
+        JSON.stringify({ documentId: __ENV.DOCUMENT_ID || '12345678' }), params);
+    check(byDocument, { 'validate by document is 200': (r) => r.status === 200 });
+}
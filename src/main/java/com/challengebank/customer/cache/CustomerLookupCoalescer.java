@@ -0,0 +1,147 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Single-flight for read lookups: concurrent calls for the same key share the first caller's query instead of
+// each taking a pooled connection, so a burst on one hot customer costs one query. Followers wait at most
+// max-wait and then run the query themselves.
+@ApplicationScoped
+public class CustomerLookupCoalescer {
+
+    public enum Lookup {
+        STATUS_BY_ID,
+        STATUS_BY_DOCUMENT,
+        VIEW_BY_ID,
+        VIEW_BY_DOCUMENT,
+        VERSION_BY_ID,
+        VERSION_BY_DOCUMENT;
+
+        final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private record FlightKey(Lookup lookup, Object key) {
+    }
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.single-flight.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customer.single-flight.max-wait", defaultValue = "2s")
+    Duration maxWait;
+
+    private final ConcurrentHashMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<Lookup, Counter> executedCounters = new EnumMap<>(Lookup.class);
+    private final Map<Lookup, Counter> coalescedCounters = new EnumMap<>(Lookup.class);
+    private final Map<Lookup, Counter> timedOutCounters = new EnumMap<>(Lookup.class);
+
+    @PostConstruct
+    void init() {
+        for (Lookup lookup : Lookup.values()) {
+            executedCounters.put(lookup, meterRegistry.counter("customer.lookup.calls",
+                    "lookup", lookup.tag, "result", "executed"));
+            coalescedCounters.put(lookup, meterRegistry.counter("customer.lookup.calls",
+                    "lookup", lookup.tag, "result", "coalesced"));
+            timedOutCounters.put(lookup, meterRegistry.counter("customer.lookup.calls",
+                    "lookup", lookup.tag, "result", "timed-out"));
+        }
+        meterRegistry.gauge("customer.lookup.in-flight", inFlight, Map::size);
+    }
+
+    // The loader's result (or failure) is handed to every caller that joined while it ran, so it must be
+    // immutable. Callers take their cache load stamps before calling this.
+    @SuppressWarnings("unchecked")
+    public <V> V load(Lookup lookup, Object key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        FlightKey flightKey = new FlightKey(lookup, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing == null) {
+            executedCounters.get(lookup).increment();
+            try {
+                V value = loader.get();
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, flight);
+            }
+        }
+        try {
+            V value = (V) existing.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            coalescedCounters.get(lookup).increment();
+            return value;
+        } catch (ExecutionException e) {
+            coalescedCounters.get(lookup).increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Coalesced " + lookup.tag + " lookup failed", e.getCause());
+        } catch (TimeoutException e) {
+            timedOutCounters.get(lookup).increment();
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + lookup.tag + " lookup", e);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    // A caller arriving after a write must not join a query that may have read the row before it. Observed
+    // ahead of the caches, so a caller whose load stamp postdates their eviction cannot join such a query.
+    public void forget(UUID customerId, String documentId) {
+        inFlight.keySet().removeIf(flight -> Objects.equals(flight.key(), customerId)
+                || Objects.equals(flight.key(), documentId));
+    }
+
+    void onCustomerChanged(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) CustomerChangedEvent event) {
+        forget(event.customerId(), event.documentId());
+    }
+
+    void afterCustomerChanged(@Observes(during = TransactionPhase.AFTER_COMPLETION)
+                              @Priority(Interceptor.Priority.PLATFORM_BEFORE) CustomerChangedEvent event) {
+        forget(event.customerId(), event.documentId());
+    }
+
+    void onCustomerChangeNotification(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE)
+                                      CustomerChangeNotification notification) {
+        if (notification.resync()) {
+            inFlight.clear();
+        } else {
+            forget(notification.customerId(), notification.documentId());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Short-lived record of customer ids and documents that were looked up and not found, so repeated misses
+// (typos, probing, other banks' customers) skip the database. Only a creation can turn a miss into a hit, so
+// local creations evict their keys; creations are not broadcast, so other replicas catch up within the TTL.
+@ApplicationScoped
+public class CustomerNotFoundCache {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.not-found-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customer.not-found-cache.maximum-size", defaultValue = "100000")
+    long maximumSize;
+
+    @ConfigProperty(name = "customer.not-found-cache.expire-after-write", defaultValue = "30s")
+    Duration expireAfterWrite;
+
+    Cache<UUID, Boolean> byId;
+    Cache<String, Boolean> byDocument;
+
+    // Bumped on every eviction; a miss read before a creation committed must not be cached.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        byId = buildCache();
+        byDocument = buildCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "customer.not-found.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byDocument, "customer.not-found.by-document");
+    }
+
+    private <K> Cache<K, Boolean> buildCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isMissingById(UUID customerId) {
+        return enabled && byId.getIfPresent(customerId) != null;
+    }
+
+    public boolean isMissingByDocument(String documentId) {
+        return enabled && byDocument.getIfPresent(documentId) != null;
+    }
+
+    public long beginLoad() {
+        return invalidations.get();
+    }
+
+    public void putMissingById(UUID customerId, long loadStamp) {
+        if (!enabled) {
+            return;
+        }
+        byId.put(customerId, Boolean.TRUE);
+        if (invalidations.get() != loadStamp) {
+            byId.invalidate(customerId);
+        }
+    }
+
+    public void putMissingByDocument(String documentId, long loadStamp) {
+        if (!enabled) {
+            return;
+        }
+        byDocument.put(documentId, Boolean.TRUE);
+        if (invalidations.get() != loadStamp) {
+            byDocument.invalidate(documentId);
+        }
+    }
+
+    public void evict(UUID customerId, String documentId) {
+        invalidations.incrementAndGet();
+        if (customerId != null) {
+            byId.invalidate(customerId);
+        }
+        if (documentId != null) {
+            byDocument.invalidate(documentId);
+        }
+    }
+
+    public void evictAll() {
+        invalidations.incrementAndGet();
+        byId.invalidateAll();
+        byDocument.invalidateAll();
+    }
+
+    void onCustomerChanged(@Observes CustomerChangedEvent event) {
+        if (event.type() == CustomerChangeType.CREATED) {
+            evict(event.customerId(), event.documentId());
+        }
+    }
+
+    void afterCustomerChanged(@Observes(during = TransactionPhase.AFTER_COMPLETION) CustomerChangedEvent event) {
+        if (event.type() == CustomerChangeType.CREATED) {
+            evict(event.customerId(), event.documentId());
+        }
+    }
+
+    // Payloads without a change type come from replicas that predate typed notifications: evicted to be safe.
+    void onCustomerChangeNotification(@Observes CustomerChangeNotification notification) {
+        if (notification.resync()) {
+            evictAll();
+        } else if (notification.type() == null || notification.type() == CustomerChangeType.CREATED) {
+            evict(notification.customerId(), notification.documentId());
+        }
+    }
+}
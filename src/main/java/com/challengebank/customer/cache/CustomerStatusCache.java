@@ -0,0 +1,113 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import com.challengebank.customer.model.projection.CustomerStatusView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ApplicationScoped
+public class CustomerStatusCache {
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.validation.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customer.validation.cache.maximum-size", defaultValue = "100000")
+    long maximumSize;
+
+    @ConfigProperty(name = "customer.validation.cache.expire-after-write", defaultValue = "5m")
+    Duration expireAfterWrite;
+
+    Cache<UUID, CustomerStatusView> byId;
+    Cache<String, CustomerStatusView> byDocument;
+
+    // Bumped on every eviction; a load that raced with an eviction must not be cached.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        byId = buildCache();
+        byDocument = buildCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "customer.validation.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byDocument, "customer.validation.by-document");
+    }
+
+    private <K> Cache<K, CustomerStatusView> buildCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CustomerStatusView> getById(UUID customerId) {
+        return enabled ? Optional.ofNullable(byId.getIfPresent(customerId)) : Optional.empty();
+    }
+
+    public Optional<CustomerStatusView> getByDocument(String documentId) {
+        return enabled ? Optional.ofNullable(byDocument.getIfPresent(documentId)) : Optional.empty();
+    }
+
+    public long beginLoad() {
+        return invalidations.get();
+    }
+
+    public void put(CustomerStatusView view, long loadStamp) {
+        if (!enabled) {
+            return;
+        }
+        byId.put(view.customerId(), view);
+        byDocument.put(view.documentId(), view);
+        if (invalidations.get() != loadStamp) {
+            evict(view.customerId(), view.documentId());
+        }
+    }
+
+    public void evict(UUID customerId, String documentId) {
+        invalidations.incrementAndGet();
+        if (customerId != null) {
+            byId.invalidate(customerId);
+        }
+        if (documentId != null) {
+            byDocument.invalidate(documentId);
+        }
+    }
+
+    public void evictAll() {
+        invalidations.incrementAndGet();
+        byId.invalidateAll();
+        byDocument.invalidateAll();
+    }
+
+    void onCustomerChanged(@Observes CustomerChangedEvent event) {
+        evict(event.customerId(), event.documentId());
+    }
+
+    void afterCustomerChanged(@Observes(during = TransactionPhase.AFTER_COMPLETION) CustomerChangedEvent event) {
+        evict(event.customerId(), event.documentId());
+    }
+
+    void onCustomerChangeNotification(@Observes CustomerChangeNotification notification) {
+        if (notification.resync()) {
+            evictAll();
+        } else {
+            evict(notification.customerId(), notification.documentId());
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeListener;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.repository.CustomerRepository;
+import com.challengebank.customer.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+// customerId -> status for every customer, held in open-addressing primitive arrays: 17 bytes per slot and
+// no object per entry, so tens of millions of customers cost a few hundred MB that the GC never has to trace.
+@ApplicationScoped
+public class CustomerStatusIndex {
+
+    private static final byte EMPTY = 0;
+    // The key is known but its status changed elsewhere; answered from the database until reloaded.
+    private static final byte STALE = -1;
+    private static final CustomerStatus[] STATUSES = CustomerStatus.values();
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int SNAPSHOT_CHUNK = 1 << 16;
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerService customerService;
+
+    @Inject
+    CustomerChangeListener changeListener;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.status-index.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customer.status-index.initial-capacity", defaultValue = "1048576")
+    int initialCapacity;
+
+    @ConfigProperty(name = "customer.status-index.fetch-size", defaultValue = "10000")
+    int fetchSize;
+
+    @ConfigProperty(name = "customer.status-index.snapshot.path")
+    Optional<String> snapshotPath;
+
+    @ConfigProperty(name = "customer.status-index.snapshot.max-catch-up", defaultValue = "100000")
+    int maxCatchUp;
+
+    private final StampedLock lock = new StampedLock();
+    // Bumped on every write; a database load that raced with a write must not be stored.
+    private final AtomicLong invalidations = new AtomicLong();
+    // Bumped on every reload request so an outdated load stops early.
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Table table;
+    private volatile boolean loaded;
+    // Keys written while a restore catches up (guarded by the write lock); the catch-up must not replace them.
+    private Set<UUID> writtenDuringCatchUp;
+    private LocalDateTime pendingWatermark;
+    private long pendingSession;
+    private ExecutorService loader;
+
+    static final class Table {
+        final long[] high;
+        final long[] low;
+        final byte[] statuses;
+        final int mask;
+        final int threshold;
+        int size;
+
+        Table(int capacity) {
+            high = new long[capacity];
+            low = new long[capacity];
+            statuses = new byte[capacity];
+            mask = capacity - 1;
+            threshold = capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * 0.75);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        table = new Table(capacityFor(initialCapacity));
+        meterRegistry.gauge("customer.status-index.size", this, index -> index.table.size);
+        meterRegistry.gauge("customer.status-index.capacity", this, index -> index.table.statuses.length);
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (!enabled) {
+            return;
+        }
+        loader = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("customer-status-index-loader").factory());
+        reload();
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        if (loader != null) {
+            loader.shutdownNow();
+        }
+    }
+
+    // Null when the customer is not indexed (yet): the caller falls back to the database.
+    public CustomerStatus find(UUID customerId) {
+        if (!enabled) {
+            return null;
+        }
+        long high = customerId.getMostSignificantBits();
+        long low = customerId.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        byte status = statusOf(table, high, low);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                status = statusOf(table, high, low);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return status > 0 ? STATUSES[status - 1] : null;
+    }
+
+    public long beginLoad() {
+        return invalidations.get();
+    }
+
+    // Stores a status read from the database, unless the index was written to since beginLoad().
+    public void putLoaded(UUID customerId, CustomerStatus status, long loadStamp) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (invalidations.get() == loadStamp) {
+                recordCatchUpWrite(customerId);
+                store(customerId.getMostSignificantBits(), customerId.getLeastSignificantBits(), encode(status), true);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void put(UUID customerId, CustomerStatus status) {
+        write(customerId, encode(status), true);
+    }
+
+    // Used by loads: never overwrites a status written or marked stale while the load was running.
+    void putIfAbsent(UUID customerId, CustomerStatus status) {
+        putIfAbsent(customerId.getMostSignificantBits(), customerId.getLeastSignificantBits(), encode(status));
+    }
+
+    private void putIfAbsent(long high, long low, byte status) {
+        long stamp = lock.writeLock();
+        try {
+            store(high, low, status, false);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Also inserts the key when it is missing, so a load still in progress cannot store the old status.
+    void markStale(UUID customerId) {
+        write(customerId, STALE, true);
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    // Local writes carry the committed status.
+    void afterCustomerChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CustomerChangedEvent event) {
+        if (enabled && event.status() != null) {
+            put(event.customerId(), event.status());
+        }
+    }
+
+    // Notifications may arrive out of order with local writes, so they only mark the entry stale.
+    void onCustomerChangeNotification(@Observes CustomerChangeNotification notification) {
+        if (!enabled) {
+            return;
+        }
+        if (notification.resync()) {
+            reload();
+        } else if (notification.type() == null || notification.isStatusChange()) {
+            markStale(notification.customerId());
+        }
+    }
+
+    void reload() {
+        if (loader == null) {
+            return;
+        }
+        long loadGeneration = generation.incrementAndGet();
+        loader.execute(() -> load(loadGeneration));
+    }
+
+    // Starts from an empty table; lookups miss and fall back to the database until their row is loaded. A valid
+    // snapshot replaces the full table scan with a file read plus the rows changed since its watermark.
+    void load(long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        long started = System.nanoTime();
+        loaded = false;
+        try {
+            String source = "snapshot";
+            long rows = snapshotPath.isPresent() ? restore(Path.of(snapshotPath.get()), loadGeneration) : -1;
+            if (rows < 0) {
+                source = "database";
+                rows = fullLoad(loadGeneration);
+            }
+            if (generation.get() == loadGeneration) {
+                loaded = true;
+                Log.infof("Customer status index loaded %d customers from the %s in %s", rows, source,
+                        Duration.ofNanos(System.nanoTime() - started));
+            }
+        } catch (RuntimeException e) {
+            Log.error("Customer status index load failed, validation falls back to the database", e);
+        }
+    }
+
+    private long fullLoad(long loadGeneration) {
+        resetTable();
+        return customerRepository.forEachStatus(null, fetchSize, view -> {
+            if (generation.get() != loadGeneration) {
+                return false;
+            }
+            putIfAbsent(view.customerId(), view.status());
+            return true;
+        });
+    }
+
+    // The snapshot entries go in first and are answered straight away; the rows changed since the watermark then
+    // replace them, except where a live write got there first. Returns -1 when the snapshot is missing, invalid
+    // or too far behind.
+    private long restore(Path file, long loadGeneration) {
+        if (!Files.isRegularFile(file)) {
+            return -1;
+        }
+        resetTable();
+        LocalDateTime watermark;
+        try {
+            watermark = CustomerStatusSnapshot.read(file, ignored -> (high, low, status) -> {
+                if (status > 0 && status <= STATUSES.length) {
+                    putIfAbsent(high, low, status);
+                }
+            });
+        } catch (IOException e) {
+            Log.warnf("Customer status snapshot %s is unusable, loading from the database: %s", file, e.getMessage());
+            return -1;
+        }
+        long[] changedRows = {0};
+        setCatchUpWrites(new HashSet<>());
+        try {
+            customerRepository.forEachStatus(watermark, fetchSize, view -> {
+                if (changedRows[0] >= maxCatchUp || generation.get() != loadGeneration) {
+                    return false;
+                }
+                putCaughtUp(view.customerId(), view.status());
+                changedRows[0]++;
+                return true;
+            });
+        } catch (RuntimeException e) {
+            // Entries not caught up may be out of date: stop answering from them.
+            resetTable();
+            throw e;
+        } finally {
+            setCatchUpWrites(null);
+        }
+        if (changedRows[0] >= maxCatchUp) {
+            Log.infof("Customer status snapshot is more than %d changes behind, loading from the database",
+                    maxCatchUp);
+            return -1;
+        }
+        return generation.get() == loadGeneration ? size() : -1;
+    }
+
+    private void putCaughtUp(UUID customerId, CustomerStatus status) {
+        long stamp = lock.writeLock();
+        try {
+            if (!writtenDuringCatchUp.contains(customerId)) {
+                store(customerId.getMostSignificantBits(), customerId.getLeastSignificantBits(), encode(status), true);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void setCatchUpWrites(Set<UUID> written) {
+        long stamp = lock.writeLock();
+        try {
+            writtenDuringCatchUp = written;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Caller holds the write lock.
+    private void recordCatchUpWrite(UUID customerId) {
+        if (writtenDuringCatchUp != null) {
+            writtenDuringCatchUp.add(customerId);
+        }
+    }
+
+    private void resetTable() {
+        long stamp = lock.writeLock();
+        try {
+            invalidations.incrementAndGet();
+            table = new Table(capacityFor(initialCapacity));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Writes the entries as of the previous run's watermark: every change up to it had committed by then, and the
+    // LISTEN connection has stayed up since, so each one reached this replica. After a disconnection the index may
+    // hold statuses whose notifications were missed (until the resync reload), so no snapshot is written for that
+    // interval; a restore would otherwise bring them back. Stale entries are left out and simply miss.
+    @Scheduled(every = "${customer.status-index.snapshot.interval:10m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void writeSnapshot() {
+        if (!enabled || snapshotPath.isEmpty()) {
+            return;
+        }
+        LocalDateTime watermark = pendingWatermark;
+        long session = changeListener.currentSession();
+        boolean connectedSince = session >= 0 && session == pendingSession;
+        pendingSession = session;
+        pendingWatermark = session >= 0 ? customerService.changesUpperBound() : null;
+        if (watermark == null || !connectedSince || !loaded) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            long entries = CustomerStatusSnapshot.write(Path.of(snapshotPath.get()), watermark, this::forEachEntry);
+            Log.infof("Customer status snapshot written with %d customers up to %s in %s", entries, watermark,
+                    Duration.ofNanos(System.nanoTime() - started));
+        } catch (IOException | ConcurrentModificationException e) {
+            Log.warnf("Customer status snapshot not written, retrying on the next run: %s", e.getMessage());
+        }
+    }
+
+    // Walks the table a chunk at a time under the read lock, so writers are only held up briefly.
+    void forEachEntry(CustomerStatusSnapshot.EntryConsumer consumer) {
+        Table current = table;
+        for (int start = 0; start < current.statuses.length; start += SNAPSHOT_CHUNK) {
+            long stamp = lock.readLock();
+            try {
+                if (table != current) {
+                    throw new ConcurrentModificationException("Customer status index was resized or reloaded");
+                }
+                int end = Math.min(start + SNAPSHOT_CHUNK, current.statuses.length);
+                for (int slot = start; slot < end; slot++) {
+                    if (current.statuses[slot] > 0) {
+                        consumer.accept(current.high[slot], current.low[slot], current.statuses[slot]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private void write(UUID customerId, byte status, boolean overwrite) {
+        long stamp = lock.writeLock();
+        try {
+            invalidations.incrementAndGet();
+            recordCatchUpWrite(customerId);
+            store(customerId.getMostSignificantBits(), customerId.getLeastSignificantBits(), status, overwrite);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Caller holds the write lock. The status byte is written last: it is what marks the slot as used.
+    private void store(long high, long low, byte status, boolean overwrite) {
+        Table current = table;
+        int slot = slotOf(current, high, low);
+        if (current.statuses[slot] != EMPTY) {
+            if (overwrite) {
+                current.statuses[slot] = status;
+            }
+            return;
+        }
+        if (current.size >= current.threshold) {
+            current = grow(current);
+            slot = slotOf(current, high, low);
+        }
+        current.high[slot] = high;
+        current.low[slot] = low;
+        current.size++;
+        current.statuses[slot] = status;
+    }
+
+    private Table grow(Table current) {
+        if (current.statuses.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Customer status index is full");
+        }
+        Table grown = new Table(current.statuses.length << 1);
+        for (int i = 0; i < current.statuses.length; i++) {
+            if (current.statuses[i] != EMPTY) {
+                int slot = slotOf(grown, current.high[i], current.low[i]);
+                grown.high[slot] = current.high[i];
+                grown.low[slot] = current.low[i];
+                grown.statuses[slot] = current.statuses[i];
+            }
+        }
+        grown.size = current.size;
+        table = grown;
+        return grown;
+    }
+
+    // Linear probing; bounded so an optimistic read of a table being written cannot spin forever.
+    private static byte statusOf(Table table, long high, long low) {
+        int slot = hash(high, low) & table.mask;
+        for (int probes = 0; probes <= table.mask; probes++) {
+            byte status = table.statuses[slot];
+            if (status == EMPTY) {
+                return EMPTY;
+            }
+            if (table.high[slot] == high && table.low[slot] == low) {
+                return status;
+            }
+            slot = (slot + 1) & table.mask;
+        }
+        return EMPTY;
+    }
+
+    private static int slotOf(Table table, long high, long low) {
+        int slot = hash(high, low) & table.mask;
+        while (table.statuses[slot] != EMPTY && (table.high[slot] != high || table.low[slot] != low)) {
+            slot = (slot + 1) & table.mask;
+        }
+        return slot;
+    }
+
+    // Random UUIDs are already well spread; the finalizer keeps sequential or time-based ids from clustering.
+    private static int hash(long high, long low) {
+        long h = high ^ Long.rotateLeft(low, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static byte encode(CustomerStatus status) {
+        return (byte) (status.ordinal() + 1);
+    }
+
+    private static int capacityFor(int expected) {
+        long needed = expected * 4L / 3;
+        int capacity = 16;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
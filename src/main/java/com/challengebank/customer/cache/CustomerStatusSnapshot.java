@@ -0,0 +1,167 @@
+package com.challengebank.customer.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+// Binary snapshot of the status index: a checksummed header followed by fixed-size (customerId, status)
+// entries. Read through FileChannel.map, so restoring costs page-cache reads instead of a table scan.
+final class CustomerStatusSnapshot {
+
+    static final int MAGIC = 0x43535358; // "CSSX"
+    static final int FORMAT_VERSION = 1;
+    // magic, version, watermark seconds, watermark nanos, entry count, body CRC, header CRC
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 8 + 4 + 4;
+    static final int ENTRY_SIZE = 8 + 8 + 1;
+    // Entries per mapped region, keeping each mapping well under the 2 GB limit of a MappedByteBuffer.
+    private static final long CHUNK_ENTRIES = 1 << 24;
+    private static final int WRITE_BUFFER_SIZE = ENTRY_SIZE * 4096;
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long high, long low, byte status);
+    }
+
+    @FunctionalInterface
+    interface EntrySource {
+        void forEach(EntryConsumer consumer);
+    }
+
+    private CustomerStatusSnapshot() {
+    }
+
+    // Written to a sibling temp file and moved into place, so a crash never leaves a half-written snapshot.
+    static long write(Path file, LocalDateTime watermark, EntrySource source) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32C bodyCrc = new CRC32C();
+        long count;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            EntryWriter writer = new EntryWriter(channel, bodyCrc);
+            try {
+                source.forEach(writer);
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            count = writer.count;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(watermark.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(watermark.getNano())
+                    .putLong(count)
+                    .putInt((int) bodyCrc.getValue());
+            CRC32C headerCrc = new CRC32C();
+            headerCrc.update(header.array(), 0, header.position());
+            header.putInt((int) headerCrc.getValue()).flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    // Verifies the whole file, then passes the watermark to restore, which returns where the entries go (or
+    // null to skip them). Returns the watermark.
+    static LocalDateTime read(Path file, Function<LocalDateTime, EntryConsumer> restore) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Snapshot is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a customer status snapshot");
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            long seconds = header.getLong();
+            int nanos = header.getInt();
+            long count = header.getLong();
+            int expectedBodyCrc = header.getInt();
+            CRC32C headerCrc = new CRC32C();
+            headerCrc.update(header.duplicate().position(0).limit(HEADER_SIZE - 4));
+            if (header.getInt() != (int) headerCrc.getValue()) {
+                throw new IOException("Snapshot header checksum mismatch");
+            }
+            if (count < 0 || channel.size() != HEADER_SIZE + count * ENTRY_SIZE) {
+                throw new IOException("Snapshot size does not match its entry count");
+            }
+
+            CRC32C bodyCrc = new CRC32C();
+            forEachRegion(channel, count, region -> bodyCrc.update(region));
+            if ((int) bodyCrc.getValue() != expectedBodyCrc) {
+                throw new IOException("Snapshot body checksum mismatch");
+            }
+            LocalDateTime watermark = LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+            EntryConsumer consumer = restore.apply(watermark);
+            if (consumer != null) {
+                forEachRegion(channel, count, region -> {
+                    while (region.hasRemaining()) {
+                        consumer.accept(region.getLong(), region.getLong(), region.get());
+                    }
+                });
+            }
+            return watermark;
+        }
+    }
+
+    private static void forEachRegion(FileChannel channel, long count, Consumer<MappedByteBuffer> action)
+            throws IOException {
+        for (long first = 0; first < count; first += CHUNK_ENTRIES) {
+            long entries = Math.min(CHUNK_ENTRIES, count - first);
+            action.accept(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * ENTRY_SIZE,
+                    entries * ENTRY_SIZE));
+        }
+    }
+
+    private static final class EntryWriter implements EntryConsumer {
+
+        private final FileChannel channel;
+        private final CRC32C crc;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long count;
+
+        EntryWriter(FileChannel channel, CRC32C crc) {
+            this.channel = channel;
+            this.crc = crc;
+        }
+
+        @Override
+        public void accept(long high, long low, byte status) {
+            if (buffer.remaining() < ENTRY_SIZE) {
+                flush();
+            }
+            buffer.putLong(high).putLong(low).put(status);
+            count++;
+        }
+
+        void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
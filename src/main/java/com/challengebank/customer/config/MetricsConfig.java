@@ -1,14 +1,26 @@
 package com.challengebank.customer.config;
 
+import com.challengebank.customer.event.CustomerChangedEvent;
 import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
 import com.challengebank.customer.repository.CustomerRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
 import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gauges read in-memory counters so a scrape never reaches the database. The counters are seeded at startup,
+// adjusted after every local commit and reconciled periodically to pick up writes made by other replicas.
 @ApplicationScoped
 public class MetricsConfig {
 
@@ -18,10 +30,68 @@ public class MetricsConfig {
     @Inject
     CustomerRepository customerRepository;
 
+    final Map<CustomerStatus, AtomicLong> byStatus = new EnumMap<>(CustomerStatus.class);
+    final Map<DocumentType, AtomicLong> byDocumentType = new EnumMap<>(DocumentType.class);
+
+    public MetricsConfig() {
+        for (CustomerStatus status : CustomerStatus.values()) {
+            byStatus.put(status, new AtomicLong());
+        }
+        for (DocumentType documentType : DocumentType.values()) {
+            byDocumentType.put(documentType, new AtomicLong());
+        }
+    }
+
     void onStart(@Observes StartupEvent ev) {
-        Gauge.builder("customer.active.total",
-                        customerRepository, repo -> repo.countByStatus(CustomerStatus.ACTIVE))
+        Gauge.builder("customer.active.total", byStatus.get(CustomerStatus.ACTIVE), AtomicLong::get)
                 .description("Total number of active customers")
                 .register(meterRegistry);
+        byStatus.forEach((status, count) -> Gauge.builder("customer.status.total", count, AtomicLong::get)
+                .description("Number of customers per status")
+                .tag("status", status.name())
+                .register(meterRegistry));
+        byDocumentType.forEach((documentType, count) -> Gauge.builder("customer.document-type.total", count, AtomicLong::get)
+                .description("Number of customers per document type")
+                .tag("document_type", documentType.name())
+                .register(meterRegistry));
+        reconcile();
+    }
+
+    @Scheduled(every = "${customer.metrics.reconcile-interval:5m}", delayed = "${customer.metrics.reconcile-interval:5m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @ActivateRequestContext
+    void reconcile() {
+        try {
+            Map<CustomerStatus, Long> statusCounts = customerRepository.countGroupedByStatus();
+            Map<DocumentType, Long> documentTypeCounts = customerRepository.countGroupedByDocumentType();
+            byStatus.forEach((status, count) -> count.set(statusCounts.getOrDefault(status, 0L)));
+            byDocumentType.forEach((documentType, count) -> count.set(documentTypeCounts.getOrDefault(documentType, 0L)));
+        } catch (RuntimeException e) {
+            Log.warnf("Failed to reconcile customer gauges, keeping current values: %s", e.getMessage());
+        }
+    }
+
+    // For writes that fire no CustomerChangedEvent, such as an import's set-based merge; called once they commit.
+    @ActivateRequestContext
+    public void refreshCounts() {
+        reconcile();
+    }
+
+    void onCustomerChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CustomerChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                byStatus.get(event.status()).incrementAndGet();
+                byDocumentType.get(event.documentType()).incrementAndGet();
+            }
+            case STATUS_CHANGED, DELETED -> {
+                if (event.previousStatus() != null && event.previousStatus() != event.status()) {
+                    byStatus.get(event.previousStatus()).decrementAndGet();
+                    byStatus.get(event.status()).incrementAndGet();
+                }
+            }
+            case UPDATED -> {
+                // Updates change neither the status nor the document type.
+            }
+        }
     }
 }
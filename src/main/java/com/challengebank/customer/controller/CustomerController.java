@@ -1,41 +1,93 @@
 package com.challengebank.customer.controller;
 
 import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
+import com.challengebank.customer.model.dto.request.CustomerLookupRequest;
 import com.challengebank.customer.model.dto.request.UpdateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateStatusRequest;
+import com.challengebank.customer.model.dto.response.BulkCreateResponse;
+import com.challengebank.customer.model.dto.response.CustomerLookupResponse;
 import com.challengebank.customer.model.dto.response.CustomerPageResponse;
 import com.challengebank.customer.model.dto.response.CustomerResponse;
+import com.challengebank.customer.model.enums.CountMode;
 import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.ExportFormat;
+import com.challengebank.customer.model.enums.ExportMode;
+import com.challengebank.customer.service.CustomerBulkService;
+import com.challengebank.customer.service.CustomerExportService;
+import com.challengebank.customer.service.CustomerLookupService;
 import com.challengebank.customer.service.CustomerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Path("/v1/customers")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RunOnVirtualThread
 public class CustomerController {
 
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Inject
     CustomerService customerService;
 
+    @Inject
+    CustomerBulkService customerBulkService;
+
+    @Inject
+    CustomerExportService customerExportService;
+
+    @Inject
+    CustomerLookupService customerLookupService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @GET
     @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
     public Response getAllCustomers(
             @QueryParam("page") @DefaultValue("0") @Min(0) int page,
             @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size,
-            @QueryParam("status") CustomerStatus status) {
-        CustomerPageResponse response = customerService.getAllCustomers(page, size, status);
+            @QueryParam("status") CustomerStatus status,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("count") CountMode count) {
+        CustomerPageResponse response = cursor != null
+                ? customerService.getCustomersByCursor(cursor, size, status)
+                : customerService.getAllCustomers(page, size, status, count);
         return Response.ok(response).build();
     }
 
+    @GET
+    @Path("/changes")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    public Response getChanges(
+            @QueryParam("since") String since,
+            @QueryParam("limit") @DefaultValue("100") @Min(1) @Max(1000) int limit) {
+        return Response.ok(customerService.getChanges(since, limit)).build();
+    }
+
     @POST
     @RolesAllowed("ROLE_ADMIN")
     public Response createCustomer(@Valid CreateCustomerRequest request) {
@@ -43,21 +95,90 @@ public class CustomerController {
         return Response.status(Response.Status.CREATED).entity(response).build();
     }
 
+    @POST
+    @Path("/bulk")
+    @RolesAllowed("ROLE_ADMIN")
+    public Response createCustomersBulk(List<CreateCustomerRequest> requests) {
+        BulkCreateResponse response = customerBulkService.createCustomers(requests);
+        return Response.ok(response).build();
+    }
+
+    @POST
+    @Path("/bulk")
+    @Consumes(APPLICATION_NDJSON)
+    @RolesAllowed("ROLE_ADMIN")
+    public Response createCustomersBulkNdjson(InputStream body) throws IOException {
+        BulkCreateResponse response = customerBulkService.createCustomers(readNdjson(body));
+        return Response.ok(response).build();
+    }
+
+    private List<CreateCustomerRequest> readNdjson(InputStream body) throws IOException {
+        List<CreateCustomerRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    requests.add(objectMapper.readValue(line, CreateCustomerRequest.class));
+                } catch (JsonProcessingException e) {
+                    requests.add(null);
+                }
+            }
+        }
+        return requests;
+    }
+
+    @POST
+    @Path("/lookup")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    public Response lookupCustomers(@Valid @NotNull CustomerLookupRequest request) {
+        CustomerLookupResponse response = customerLookupService.lookupCustomers(request);
+        return Response.ok(response).build();
+    }
+
+    @GET
+    @Path("/export")
+    @Produces({APPLICATION_NDJSON, "text/csv", MediaType.APPLICATION_OCTET_STREAM})
+    @RolesAllowed("ROLE_ADMIN")
+    public Response exportCustomers(
+            @QueryParam("format") @DefaultValue("NDJSON") ExportFormat format,
+            @QueryParam("mode") @DefaultValue("STREAM") ExportMode mode,
+            @QueryParam("status") CustomerStatus status,
+            @QueryParam("updatedSince") LocalDateTime updatedSince) {
+        customerExportService.requireSupported(format, mode);
+        StreamingOutput body = mode == ExportMode.COPY
+                ? out -> customerExportService.copy(format, status, updatedSince, out)
+                : out -> customerExportService.export(format, status, updatedSince, out);
+        return Response.ok(body, format.mediaType())
+                .header("Content-Disposition", "attachment; filename=\"customers." + format.extension() + "\"")
+                .build();
+    }
+
     @GET
     @Path("/{customerId}")
     @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
-    public Response getCustomerById(@PathParam("customerId") UUID customerId) {
+    public Response getCustomerById(@PathParam("customerId") UUID customerId,
+                                    @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = customerService.getVersionById(customerId);
+            if (matchesAny(ifNoneMatch, version)) {
+                return Response.notModified(etag(version)).build();
+            }
+        }
         CustomerResponse response = customerService.getCustomerById(customerId);
-        return Response.ok(response).build();
+        return Response.ok(response).tag(etag(response.version)).build();
     }
 
     @PUT
     @Path("/{customerId}")
     @RolesAllowed("ROLE_ADMIN")
     public Response updateCustomer(@PathParam("customerId") UUID customerId,
+                                   @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                    @Valid UpdateCustomerRequest request) {
-        CustomerResponse response = customerService.updateCustomer(customerId, request);
-        return Response.ok(response).build();
+        CustomerResponse response = customerService.updateCustomer(customerId, request, expectedVersion(ifMatch));
+        return Response.ok(response).tag(etag(response.version)).build();
     }
 
     @DELETE
@@ -71,17 +192,60 @@ public class CustomerController {
     @GET
     @Path("/document/{documentId}")
     @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
-    public Response getCustomerByDocument(@PathParam("documentId") String documentId) {
+    public Response getCustomerByDocument(@PathParam("documentId") String documentId,
+                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = customerService.getVersionByDocument(documentId);
+            if (matchesAny(ifNoneMatch, version)) {
+                return Response.notModified(etag(version)).build();
+            }
+        }
         CustomerResponse response = customerService.getCustomerByDocument(documentId);
-        return Response.ok(response).build();
+        return Response.ok(response).tag(etag(response.version)).build();
     }
 
     @PATCH
     @Path("/{customerId}/status")
     @RolesAllowed("ROLE_ADMIN")
     public Response updateCustomerStatus(@PathParam("customerId") UUID customerId,
+                                         @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
                                          @Valid UpdateStatusRequest request) {
-        CustomerResponse response = customerService.updateCustomerStatus(customerId, request);
-        return Response.ok(response).build();
+        CustomerResponse response = customerService.updateCustomerStatus(customerId, request, expectedVersion(ifMatch));
+        return Response.ok(response).tag(etag(response.version)).build();
+    }
+
+    // The ETag is the row's @Version, so any committed write changes it.
+    static EntityTag etag(long version) {
+        return new EntityTag(Long.toString(version));
+    }
+
+    // If-None-Match uses weak comparison: W/"3" matches version 3.
+    static boolean matchesAny(String ifNoneMatch, long version) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals("\"" + version + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match needs a single strong ETag; absent or "*" means the write is unconditional.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // Falls through to the rejection below.
+            }
+        }
+        throw new IllegalArgumentException("If-Match must be a single strong ETag of this resource: " + ifMatch);
     }
 }
@@ -0,0 +1,67 @@
+package com.challengebank.customer.controller;
+
+import com.challengebank.customer.model.dto.response.CustomerImportResponse;
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.service.CustomerImportService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+@Path("/v1/customers/imports")
+@Produces(MediaType.APPLICATION_JSON)
+@RunOnVirtualThread
+public class CustomerImportController {
+
+    static final String TEXT_CSV = "text/csv";
+
+    @Inject
+    CustomerImportService customerImportService;
+
+    @POST
+    @Consumes(TEXT_CSV)
+    @RolesAllowed("ROLE_ADMIN")
+    public Response importCsv(InputStream body) throws IOException {
+        return accepted(customerImportService.startImport(ImportFormat.CSV, body));
+    }
+
+    @POST
+    @Consumes(CustomerController.APPLICATION_NDJSON)
+    @RolesAllowed("ROLE_ADMIN")
+    public Response importNdjson(InputStream body) throws IOException {
+        return accepted(customerImportService.startImport(ImportFormat.NDJSON, body));
+    }
+
+    @GET
+    @Path("/{importId}")
+    @RolesAllowed("ROLE_ADMIN")
+    public Response getImport(@PathParam("importId") UUID importId) {
+        return Response.ok(customerImportService.getImport(importId)).build();
+    }
+
+    @GET
+    @Path("/{importId}/rejections")
+    @Produces(TEXT_CSV)
+    @RolesAllowed("ROLE_ADMIN")
+    public Response getRejections(@PathParam("importId") UUID importId) {
+        customerImportService.getImport(importId);
+        StreamingOutput body = out -> customerImportService.writeRejections(importId, out);
+        return Response.ok(body, TEXT_CSV)
+                .header("Content-Disposition", "attachment; filename=\"import-" + importId + "-rejections.csv\"")
+                .build();
+    }
+
+    private Response accepted(CustomerImportResponse response) {
+        return Response.accepted(response)
+                .location(URI.create("/v1/customers/imports/" + response.importId))
+                .build();
+    }
+}
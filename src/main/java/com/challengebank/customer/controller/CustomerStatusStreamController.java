@@ -0,0 +1,49 @@
+package com.challengebank.customer.controller;
+
+import com.challengebank.customer.messaging.CustomerStatusEvent;
+import com.challengebank.customer.messaging.CustomerStatusStream;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+@Path("/v1/customers/status-stream")
+public class CustomerStatusStreamController {
+
+    @Inject
+    CustomerStatusStream customerStatusStream;
+
+    @ConfigProperty(name = "customer.status-stream.keepalive", defaultValue = "15s")
+    Duration keepalive;
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    @RunOnVirtualThread
+    public Multi<OutboundSseEvent> streamStatusChanges(@HeaderParam("Last-Event-ID") String lastEventId,
+                                                       @Context Sse sse) {
+        OutboundSseEvent end = sse.newEventBuilder().comment("end").build();
+        Multi<OutboundSseEvent> events = customerStatusStream.subscribe(lastEventId)
+                .map(event -> sse.newEventBuilder()
+                        .id(event.eventId())
+                        .name(event.eventName())
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(CustomerStatusEvent.class, event)
+                        .build())
+                .onCompletion().continueWith(end);
+        // Comment frames keep idle connections open through proxies and reveal dead clients.
+        OutboundSseEvent ping = sse.newEventBuilder().comment("keepalive").build();
+        Multi<OutboundSseEvent> pings = Multi.createFrom().ticks().every(keepalive)
+                .onOverflow().drop()
+                .map(tick -> ping);
+        return Multi.createBy().merging().streams(events, pings).select().first(event -> event != end);
+    }
+}
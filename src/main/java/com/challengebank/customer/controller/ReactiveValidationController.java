@@ -0,0 +1,58 @@
+package com.challengebank.customer.controller;
+
+import com.challengebank.customer.model.dto.request.BatchValidateRequest;
+import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BatchValidationResponse;
+import com.challengebank.customer.service.ReactiveValidationService;
+import com.challengebank.customer.service.ValidationService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.UUID;
+
+@Path("/v1/customers")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@IfBuildProperty(name = "customer.validation.reactive.enabled", stringValue = "true")
+public class ReactiveValidationController {
+
+    @Inject
+    ReactiveValidationService reactiveValidationService;
+
+    @Inject
+    ValidationService validationService;
+
+    @POST
+    @Path("/validate")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    public Uni<Response> validateCustomer(@Valid ValidateCustomerRequest request) {
+        return reactiveValidationService.validateCustomer(request)
+                .map(response -> Response.ok(response).build());
+    }
+
+    // Batch lookups use IN queries through Hibernate, so this route stays blocking.
+    @POST
+    @Path("/validate/batch")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    @RunOnVirtualThread
+    public Response validateCustomers(@Valid @NotNull BatchValidateRequest request) {
+        BatchValidationResponse response = validationService.validateCustomers(request.items);
+        return Response.ok(response).build();
+    }
+
+    @GET
+    @Path("/{customerId}/validate")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    public Uni<Response> validateCustomerById(@PathParam("customerId") UUID customerId) {
+        return reactiveValidationService.validateCustomerById(customerId)
+                .map(response -> Response.ok(response).build());
+    }
+}
@@ -1,11 +1,16 @@
 package com.challengebank.customer.controller;
 
+import com.challengebank.customer.model.dto.request.BatchValidateRequest;
 import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BatchValidationResponse;
 import com.challengebank.customer.model.dto.response.ValidationResponse;
 import com.challengebank.customer.service.ValidationService;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -15,6 +20,8 @@ import java.util.UUID;
 @Path("/v1/customers")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RunOnVirtualThread
+@UnlessBuildProperty(name = "customer.validation.reactive.enabled", stringValue = "true", enableIfMissing = true)
 public class ValidationController {
 
     @Inject
@@ -28,6 +35,14 @@ public class ValidationController {
         return Response.ok(response).build();
     }
 
+    @POST
+    @Path("/validate/batch")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    public Response validateCustomers(@Valid @NotNull BatchValidateRequest request) {
+        BatchValidationResponse response = validationService.validateCustomers(request.items);
+        return Response.ok(response).build();
+    }
+
     @GET
     @Path("/{customerId}/validate")
     @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
@@ -0,0 +1,24 @@
+package com.challengebank.customer.event;
+
+import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+
+import java.util.UUID;
+
+public record CustomerChangedEvent(
+        CustomerChangeType type,
+        UUID customerId,
+        DocumentType documentType,
+        String documentId,
+        String email,
+        CustomerStatus previousStatus,
+        CustomerStatus status,
+        long version) {
+
+    public static CustomerChangedEvent of(CustomerChangeType type, Customer customer, CustomerStatus previousStatus) {
+        return new CustomerChangedEvent(type, customer.customerId, customer.documentType, customer.documentId,
+                customer.email, previousStatus, customer.status, customer.version);
+    }
+}
@@ -1,8 +1,10 @@
 package com.challengebank.customer.exception;
 
+// Always mapped to a 404, so no stack trace is captured: misses are common (typos, probing) and the trace is
+// never logged.
 public class CustomerNotFoundException extends RuntimeException {
 
     public CustomerNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -2,7 +2,18 @@ package com.challengebank.customer.exception;
 
 public class DuplicateCustomerException extends RuntimeException {
 
+    private final String field;
+
     public DuplicateCustomerException(String message) {
+        this(null, message);
+    }
+
+    public DuplicateCustomerException(String field, String message) {
         super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
     }
 }
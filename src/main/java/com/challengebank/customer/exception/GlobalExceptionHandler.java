@@ -3,7 +3,9 @@ package com.challengebank.customer.exception;
 import com.challengebank.customer.model.dto.response.ErrorResponse;
 import com.challengebank.customer.model.dto.response.FieldError;
 import io.quarkus.logging.Log;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
@@ -20,9 +22,41 @@ public class GlobalExceptionHandler {
         return RestResponse.status(Response.Status.NOT_FOUND, error);
     }
 
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handleImportNotFound(ImportNotFoundException ex, UriInfo uriInfo) {
+        ErrorResponse error = buildError(404, "Not Found", ex.getMessage(), uriInfo);
+        return RestResponse.status(Response.Status.NOT_FOUND, error);
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handleStreamCapacity(StreamCapacityException ex, UriInfo uriInfo) {
+        ErrorResponse error = buildError(503, "Service Unavailable", ex.getMessage(), uriInfo);
+        // Typed explicitly: the status stream only produces text/event-stream, which cannot carry this body.
+        return RestResponse.ResponseBuilder.create(Response.Status.SERVICE_UNAVAILABLE, error)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .header("Retry-After", "5")
+                .build();
+    }
+
     @ServerExceptionMapper
     public RestResponse<ErrorResponse> handleDuplicateCustomer(DuplicateCustomerException ex, UriInfo uriInfo) {
         ErrorResponse error = buildError(409, "Conflict", ex.getMessage(), uriInfo);
+        if (ex.getField() != null) {
+            error.errors = List.of(new FieldError(ex.getField(), ex.getMessage()));
+        }
+        return RestResponse.status(Response.Status.CONFLICT, error);
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, UriInfo uriInfo) {
+        ErrorResponse error = buildError(412, "Precondition Failed", ex.getMessage(), uriInfo);
+        return RestResponse.status(Response.Status.PRECONDITION_FAILED, error);
+    }
+
+    // A concurrent writer bumped the version between our read and flush.
+    @ServerExceptionMapper
+    public RestResponse<ErrorResponse> handleOptimisticLock(OptimisticLockException ex, UriInfo uriInfo) {
+        ErrorResponse error = buildError(409, "Conflict", "Customer was modified concurrently, retry the request", uriInfo);
         return RestResponse.status(Response.Status.CONFLICT, error);
     }
 
@@ -0,0 +1,8 @@
+package com.challengebank.customer.exception;
+
+public class StreamCapacityException extends RuntimeException {
+
+    public StreamCapacityException(String message) {
+        super(message);
+    }
+}
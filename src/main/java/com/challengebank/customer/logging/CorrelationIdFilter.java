@@ -14,6 +14,7 @@ public class CorrelationIdFilter implements ContainerRequestFilter, ContainerRes
 
     public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
     public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    static final String CORRELATION_ID_PROPERTY = CorrelationIdFilter.class.getName() + ".correlationId";
 
     @Override
     public void filter(ContainerRequestContext requestContext) {
@@ -22,12 +23,16 @@ public class CorrelationIdFilter implements ContainerRequestFilter, ContainerRes
             correlationId = UUID.randomUUID().toString();
         }
         MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        requestContext.setProperty(CORRELATION_ID_PROPERTY, correlationId);
         requestContext.getHeaders().putSingle(CORRELATION_ID_HEADER, correlationId);
     }
 
+    // The response filter may run on a different (virtual or event-loop) thread than the request filter, so the
+    // id is read from the request rather than trusted to the thread-bound MDC.
     @Override
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
-        String correlationId = MDC.get(CORRELATION_ID_MDC_KEY);
+        Object property = requestContext.getProperty(CORRELATION_ID_PROPERTY);
+        String correlationId = property != null ? property.toString() : MDC.get(CORRELATION_ID_MDC_KEY);
         if (correlationId != null) {
             responseContext.getHeaders().putSingle(CORRELATION_ID_HEADER, correlationId);
         }
@@ -2,10 +2,12 @@ package com.challengebank.customer.mapper;
 
 import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateCustomerRequest;
+import com.challengebank.customer.model.dto.response.CustomerChangesResponse;
 import com.challengebank.customer.model.dto.response.CustomerPageResponse;
 import com.challengebank.customer.model.dto.response.CustomerResponse;
 import com.challengebank.customer.model.entity.Customer;
 import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerView;
 import jakarta.enterprise.context.ApplicationScoped;
 
 import java.util.List;
@@ -58,16 +60,62 @@ public class CustomerMapper {
         response.status = customer.status;
         response.createdAt = customer.createdAt;
         response.updatedAt = customer.updatedAt;
+        response.version = customer.version;
         return response;
     }
 
-    public CustomerPageResponse toPageResponse(List<Customer> customers, int page, int size, long totalElements) {
+    public CustomerResponse toResponse(CustomerView customer) {
+        CustomerResponse response = new CustomerResponse();
+        response.customerId = customer.customerId();
+        response.firstName = customer.firstName();
+        response.lastName = customer.lastName();
+        response.documentType = customer.documentType();
+        response.documentId = customer.documentId();
+        response.email = customer.email();
+        response.phone = customer.phone();
+        response.dateOfBirth = customer.dateOfBirth();
+        response.status = customer.status();
+        response.createdAt = customer.createdAt();
+        response.updatedAt = customer.updatedAt();
+        response.version = customer.version();
+        return response;
+    }
+
+    public CustomerPageResponse toPageResponse(List<CustomerView> customers, int page, int size, long totalElements) {
+        return toPageResponse(customers, page, size, totalElements, (long) (page + 1) * size < totalElements);
+    }
+
+    public CustomerPageResponse toPageResponse(List<CustomerView> customers, int page, int size, Long totalElements,
+                                               boolean hasNext) {
         CustomerPageResponse response = new CustomerPageResponse();
         response.content = customers.stream().map(this::toResponse).toList();
         response.page = page;
         response.size = size;
-        response.totalElements = totalElements;
-        response.totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+        if (totalElements != null) {
+            response.totalElements = totalElements;
+            response.totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+        }
+        response.hasNext = hasNext;
+        return response;
+    }
+
+    public CustomerPageResponse toCursorPageResponse(List<CustomerView> customers, int size, String cursor, String nextCursor) {
+        CustomerPageResponse response = new CustomerPageResponse();
+        response.content = customers.stream().map(this::toResponse).toList();
+        response.size = size;
+        response.cursor = cursor;
+        response.nextCursor = nextCursor;
+        response.hasNext = nextCursor != null;
+        return response;
+    }
+
+    public CustomerChangesResponse toChangesResponse(List<CustomerView> customers, String since, String nextWatermark,
+                                                     boolean hasMore) {
+        CustomerChangesResponse response = new CustomerChangesResponse();
+        response.content = customers.stream().map(this::toResponse).toList();
+        response.since = since;
+        response.nextWatermark = nextWatermark;
+        response.hasMore = hasMore;
         return response;
     }
 }
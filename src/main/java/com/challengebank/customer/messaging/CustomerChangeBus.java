@@ -0,0 +1,63 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+
+@ApplicationScoped
+public class CustomerChangeBus {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    Event<CustomerChangeNotification> notifications;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @ConfigProperty(name = "customer.change-bus.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customer.change-bus.channel", defaultValue = "customer_changes")
+    String channel;
+
+    boolean usesNotify() {
+        return enabled && "postgresql".equals(dbKind);
+    }
+
+    // Caches only hold existing customers, so a creation has nothing to invalidate on other replicas; their
+    // not-found caches catch up within the TTL. Broadcasting creations would cost a round trip per bulk row.
+    static boolean isRelevant(CustomerChangedEvent event) {
+        return event.type() != CustomerChangeType.CREATED;
+    }
+
+    void publish(@Observes CustomerChangedEvent event) {
+        if (!usesNotify() || !isRelevant(event)) {
+            return;
+        }
+        String payload = CustomerChangeNotification.of(event).toPayload();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        });
+    }
+
+    void publishLocally(@Observes(during = TransactionPhase.AFTER_SUCCESS) CustomerChangedEvent event) {
+        if (!usesNotify() && isRelevant(event)) {
+            notifications.fire(CustomerChangeNotification.of(event));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.challengebank.customer.messaging;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@ApplicationScoped
+public class CustomerChangeListener {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    @Inject
+    CustomerChangeBus customerChangeBus;
+
+    @Inject
+    Event<CustomerChangeNotification> notifications;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    Optional<String> jdbcUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    @ConfigProperty(name = "customer.change-bus.poll-timeout", defaultValue = "10s")
+    Duration pollTimeout;
+
+    @ConfigProperty(name = "customer.change-bus.reconnect-delay", defaultValue = "5s")
+    Duration reconnectDelay;
+
+    volatile boolean running;
+    private Thread worker;
+    private final AtomicLong sessions = new AtomicLong();
+    private volatile long connectedSession = -1;
+
+    void onStart(@Observes StartupEvent ev) {
+        if (!customerChangeBus.usesNotify() || jdbcUrl.isEmpty()) {
+            Log.info("Customer change listener disabled, relying on in-process notifications");
+            return;
+        }
+        if (!CHANNEL_NAME.matcher(customerChangeBus.channel).matches()) {
+            throw new IllegalStateException("Invalid notification channel name: " + customerChangeBus.channel);
+        }
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("customer-change-listener").start(this::listen);
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // Identifies the LISTEN connection that is up: while it stays the same, every change published since it
+    // connected has been received. -1 while disconnected; 0 when this replica does not listen, in which case
+    // changes only arrive in-process and none can be missed.
+    public long currentSession() {
+        return running ? connectedSession : 0;
+    }
+
+    // Any failure, including an observer throwing during the resync, drops the connection and reconnects: the
+    // next session resyncs again, so no change is lost for good.
+    void listen() {
+        while (running) {
+            try {
+                session();
+            } catch (SQLException e) {
+                if (running) {
+                    Log.warnf("Customer change listener disconnected, reconnecting in %s: %s",
+                            reconnectDelay, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    Log.errorf(e, "Customer change listener failed, reconnecting in %s", reconnectDelay);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    void session() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl.get(),
+                username.orElse(null), password.orElse(null))) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + customerChangeBus.channel);
+            }
+            connectedSession = sessions.incrementAndGet();
+            // Anything published before LISTEN took effect was missed.
+            notifications.fire(CustomerChangeNotification.resyncAll());
+            Log.infof("Listening for customer changes on channel %s", customerChangeBus.channel);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            while (running) {
+                PGNotification[] received = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                if (received == null || received.length == 0) {
+                    if (!connection.isValid((int) Math.max(1, pollTimeout.toSeconds()))) {
+                        throw new SQLException("Notification connection is no longer valid");
+                    }
+                    continue;
+                }
+                for (PGNotification notification : received) {
+                    dispatch(notification.getParameter());
+                }
+            }
+        } finally {
+            connectedSession = -1;
+        }
+    }
+
+    void dispatch(String payload) {
+        try {
+            notifications.fire(CustomerChangeNotification.fromPayload(payload));
+        } catch (IllegalArgumentException e) {
+            Log.warnf("Ignoring malformed customer change notification: %s", payload);
+        } catch (RuntimeException e) {
+            Log.errorf(e, "Failed to handle customer change notification: %s", payload);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.UUID;
+
+public record CustomerChangeNotification(
+        UUID customerId,
+        String documentId,
+        boolean resync,
+        CustomerChangeType type,
+        CustomerStatus previousStatus,
+        CustomerStatus status,
+        LocalDateTime changedAt) {
+
+    private static final char SEPARATOR = '|';
+    private static final int CHANGE_FIELDS = 4;
+
+    public CustomerChangeNotification(UUID customerId, String documentId, boolean resync) {
+        this(customerId, documentId, resync, null, null, null, null);
+    }
+
+    // changedAt is taken while the writing transaction is still open, so it is never earlier than the row's
+    // updated_at by more than the time to commit.
+    public static CustomerChangeNotification of(CustomerChangedEvent event) {
+        return new CustomerChangeNotification(event.customerId(), event.documentId(), false, event.type(),
+                event.previousStatus(), event.status(), LocalDateTime.now());
+    }
+
+    public static CustomerChangeNotification resyncAll() {
+        return new CustomerChangeNotification(null, null, true);
+    }
+
+    public boolean isStatusChange() {
+        return !resync && (type == CustomerChangeType.STATUS_CHANGED || type == CustomerChangeType.DELETED)
+                && status != previousStatus;
+    }
+
+    // id|document[|type|previousStatus|status|changedAt]; the change fields are optional so payloads from
+    // replicas that only send the cache keys are still understood.
+    public String toPayload() {
+        String keys = customerId.toString() + SEPARATOR + (documentId != null ? documentId : "");
+        if (type == null) {
+            return keys;
+        }
+        return keys + SEPARATOR + type + SEPARATOR + (previousStatus != null ? previousStatus : "")
+                + SEPARATOR + (status != null ? status : "") + SEPARATOR + changedAt;
+    }
+
+    public static CustomerChangeNotification fromPayload(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return new CustomerChangeNotification(UUID.fromString(payload), null, false);
+        }
+        UUID customerId = UUID.fromString(payload.substring(0, separator));
+        String[] fields = payload.substring(separator + 1).split("\\|", -1);
+        if (fields.length <= CHANGE_FIELDS) {
+            return new CustomerChangeNotification(customerId, emptyToNull(payload.substring(separator + 1)), false);
+        }
+        int change = fields.length - CHANGE_FIELDS;
+        try {
+            return new CustomerChangeNotification(customerId,
+                    emptyToNull(String.join(String.valueOf(SEPARATOR), Arrays.copyOf(fields, change))),
+                    false,
+                    CustomerChangeType.valueOf(fields[change]),
+                    statusOrNull(fields[change + 1]),
+                    statusOrNull(fields[change + 2]),
+                    LocalDateTime.parse(fields[change + 3]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid change timestamp in notification: " + payload, e);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static CustomerStatus statusOrNull(String value) {
+        return value.isEmpty() ? null : CustomerStatus.valueOf(value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.entity.CustomerOutboxEntry;
+import com.challengebank.customer.repository.CustomerOutboxRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class CustomerOutbox {
+
+    @Inject
+    CustomerOutboxRepository outboxRepository;
+
+    @ConfigProperty(name = "customer.outbox.enabled", defaultValue = "true")
+    boolean enabled;
+
+    // Runs inside the transaction that fired the event, so the entry commits or rolls back with the change itself.
+    void record(@Observes CustomerChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        CustomerOutboxEntry entry = new CustomerOutboxEntry();
+        entry.type = event.type();
+        entry.customerId = event.customerId();
+        entry.documentType = event.documentType();
+        entry.documentId = event.documentId();
+        entry.previousStatus = event.previousStatus();
+        entry.status = event.status();
+        entry.customerVersion = event.version();
+        outboxRepository.persist(entry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.model.entity.CustomerOutboxEntry;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CustomerOutboxMessage(
+        long eventId,
+        CustomerChangeType type,
+        UUID customerId,
+        DocumentType documentType,
+        String documentId,
+        CustomerStatus previousStatus,
+        CustomerStatus status,
+        long customerVersion,
+        LocalDateTime occurredAt) {
+
+    public static CustomerOutboxMessage of(CustomerOutboxEntry entry) {
+        return new CustomerOutboxMessage(entry.eventId, entry.type, entry.customerId, entry.documentType,
+                entry.documentId, entry.previousStatus, entry.status, entry.customerVersion, entry.occurredAt);
+    }
+}
@@ -0,0 +1,69 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.repository.CustomerOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+
+@ApplicationScoped
+public class CustomerOutboxPublisher {
+
+    @Inject
+    CustomerOutboxRepository outboxRepository;
+
+    @Inject
+    @Any
+    Instance<CustomerOutboxSink> sinks;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.outbox.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customer.outbox.sink", defaultValue = "log")
+    String sinkName;
+
+    @ConfigProperty(name = "customer.outbox.batch-size", defaultValue = "500")
+    int batchSize;
+
+    CustomerOutboxSink sink;
+    Counter publishedCounter;
+    Counter failureCounter;
+
+    @PostConstruct
+    void init() {
+        sink = sinks.select(NamedLiteral.of(sinkName)).get();
+        publishedCounter = meterRegistry.counter("customer.outbox.published");
+        failureCounter = meterRegistry.counter("customer.outbox.failures");
+    }
+
+    // The linger bounds how long an event waits while traffic is low; under load a run keeps draining full
+    // batches until the outbox is caught up.
+    @Scheduled(every = "${customer.outbox.linger:1s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void publish() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int drained;
+            do {
+                drained = outboxRepository.drain(batchSize, sink);
+                publishedCounter.increment(drained);
+            } while (drained == batchSize);
+        } catch (IOException | RuntimeException e) {
+            failureCounter.increment();
+            Log.warnf("Customer outbox publishing failed, retrying on the next run: %s", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.challengebank.customer.messaging;
+
+import java.io.IOException;
+import java.util.List;
+
+// Receives committed change events. Event ids are not commit order (ids are allocated in per-replica blocks and
+// replicas drain concurrently), so consumers order the events of one customer by customerVersion. Returning
+// normally acknowledges the whole batch; throwing leaves it in the outbox for the next attempt, so sinks must
+// tolerate redelivery.
+@FunctionalInterface
+public interface CustomerOutboxSink {
+
+    void publish(List<CustomerOutboxMessage> batch) throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerCursor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Live events are status transitions. Replayed events are snapshots: the current status of a customer changed in
+// any way since the resume point, without previousStatus. A settled event was read after every change stamped
+// before it had committed, so resuming from it needs no rewind.
+public record CustomerStatusEvent(
+        UUID customerId,
+        String documentId,
+        CustomerStatus previousStatus,
+        CustomerStatus status,
+        LocalDateTime changedAt,
+        @JsonIgnore boolean snapshot,
+        @JsonIgnore boolean settled) {
+
+    // Not in the base64url alphabet, so it cannot be confused with part of the cursor.
+    static final String SETTLED_SUFFIX = ".settled";
+
+    public static CustomerStatusEvent of(CustomerChangeNotification notification) {
+        return new CustomerStatusEvent(notification.customerId(), notification.documentId(),
+                notification.previousStatus(), notification.status(), notification.changedAt(), false, false);
+    }
+
+    public static CustomerStatusEvent of(CustomerView customer, LocalDateTime settledBefore) {
+        return new CustomerStatusEvent(customer.customerId(), customer.documentId(), null, customer.status(),
+                customer.updatedAt(), true, customer.updatedAt().isBefore(settledBefore));
+    }
+
+    public String eventName() {
+        return snapshot ? "snapshot" : "status";
+    }
+
+    // Same encoding as the change feed watermark, so a Last-Event-ID can be resumed on any replica.
+    public String eventId() {
+        String cursor = new CustomerCursor(changedAt, customerId).encode();
+        return settled ? cursor + SETTLED_SUFFIX : cursor;
+    }
+
+    static boolean isSettled(String eventId) {
+        return eventId.endsWith(SETTLED_SUFFIX);
+    }
+
+    static CustomerCursor cursorOf(String eventId) {
+        return CustomerCursor.decode(isSettled(eventId)
+                ? eventId.substring(0, eventId.length() - SETTLED_SUFFIX.length()) : eventId);
+    }
+}
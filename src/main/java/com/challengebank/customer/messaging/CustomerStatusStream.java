@@ -0,0 +1,149 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.exception.StreamCapacityException;
+import com.challengebank.customer.model.enums.StreamOverflowPolicy;
+import com.challengebank.customer.repository.CustomerCursor;
+import com.challengebank.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Fans status transitions out to SSE subscribers. Every subscriber owns a bounded buffer; when a slow client lets
+// it fill up, new events are either dropped or the stream is completed so the client reconnects and replays the
+// gap from the database using its Last-Event-ID.
+@ApplicationScoped
+public class CustomerStatusStream {
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.status-stream.buffer-size", defaultValue = "64")
+    int bufferSize;
+
+    @ConfigProperty(name = "customer.status-stream.overflow", defaultValue = "DISCONNECT")
+    StreamOverflowPolicy overflowPolicy;
+
+    @ConfigProperty(name = "customer.status-stream.max-subscribers", defaultValue = "5000")
+    int maxSubscribers;
+
+    @ConfigProperty(name = "customer.status-stream.replay-limit", defaultValue = "1000")
+    int replayLimit;
+
+    @ConfigProperty(name = "customer.status-stream.replay-window", defaultValue = "5s")
+    Duration replayWindow;
+
+    final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    Counter droppedCounter;
+    Counter disconnectedCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("customer.status-stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        droppedCounter = meterRegistry.counter("customer.status-stream.dropped");
+        disconnectedCounter = meterRegistry.counter("customer.status-stream.disconnected");
+    }
+
+    // The subscriber is registered before the replay query runs, so live events committed meanwhile wait in its
+    // buffer and are emitted after the replayed ones.
+    public Multi<CustomerStatusEvent> subscribe(String lastEventId) {
+        boolean resume = lastEventId != null && !lastEventId.isBlank();
+        CustomerCursor resumeFrom = resume ? CustomerStatusEvent.cursorOf(lastEventId) : null;
+        if (subscribers.size() >= maxSubscribers) {
+            throw new StreamCapacityException("Too many status stream subscribers, retry later");
+        }
+        Subscriber subscriber = new Subscriber();
+        subscribers.add(subscriber);
+        if (resumeFrom == null) {
+            return subscriber.processor;
+        }
+        List<CustomerStatusEvent> replay;
+        try {
+            replay = replay(resumeFrom, CustomerStatusEvent.isSettled(lastEventId));
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        if (replay.size() >= replayLimit) {
+            // Too far behind for one replay: send this chunk and let the client resume from its last event.
+            subscriber.close();
+            return Multi.createFrom().iterable(replay);
+        }
+        return Multi.createBy().concatenating().streams(Multi.createFrom().iterable(replay), subscriber.processor);
+    }
+
+    // After a live event the replay starts replay_window earlier, since a change stamped just before it may have
+    // committed after it was sent; clients may therefore see a few events twice. Rows already older than the
+    // window when read are settled and resume strictly after themselves, so a client catching up in chunks always
+    // moves forward, even when more than replay-limit rows share one window.
+    List<CustomerStatusEvent> replay(CustomerCursor resumeFrom, boolean settled) {
+        LocalDateTime now = LocalDateTime.now();
+        CustomerCursor from = settled ? resumeFrom
+                : new CustomerCursor(resumeFrom.timestamp().minus(replayWindow), resumeFrom.customerId());
+        LocalDateTime settledBefore = now.minus(replayWindow);
+        return customerRepository.findChangedAfter(from, now.plus(replayWindow), replayLimit)
+                .stream()
+                .map(customer -> CustomerStatusEvent.of(customer, settledBefore))
+                .toList();
+    }
+
+    void onCustomerChangeNotification(@Observes CustomerChangeNotification notification) {
+        if (notification.resync()) {
+            // Notifications may have been lost while the listener was disconnected: make every client replay.
+            subscribers.forEach(Subscriber::close);
+            return;
+        }
+        if (!notification.isStatusChange()) {
+            return;
+        }
+        CustomerStatusEvent event = CustomerStatusEvent.of(notification);
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    final class Subscriber {
+
+        private final ArrayBlockingQueue<CustomerStatusEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        final UnicastProcessor<CustomerStatusEvent> processor =
+                UnicastProcessor.create(buffer, () -> subscribers.remove(this));
+        private boolean closed;
+
+        synchronized void offer(CustomerStatusEvent event) {
+            if (closed) {
+                return;
+            }
+            if (buffer.size() < bufferSize) {
+                processor.onNext(event);
+            } else if (overflowPolicy == StreamOverflowPolicy.DROP) {
+                droppedCounter.increment();
+            } else {
+                disconnectedCounter.increment();
+                close();
+            }
+        }
+
+        synchronized void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                processor.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.challengebank.customer.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends each event as an NDJSON line; meant for local runs and tests rather than production fan-out.
+@ApplicationScoped
+@Named("file")
+public class FileOutboxSink implements CustomerOutboxSink {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "customer.outbox.file.path", defaultValue = "customer-outbox.ndjson")
+    String path;
+
+    @Override
+    public synchronized void publish(List<CustomerOutboxMessage> batch) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (CustomerOutboxMessage message : batch) {
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.write('\n');
+            }
+        }
+    }
+}
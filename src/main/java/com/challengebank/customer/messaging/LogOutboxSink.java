@@ -0,0 +1,18 @@
+package com.challengebank.customer.messaging;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Named;
+
+import java.util.List;
+
+@ApplicationScoped
+@Named("log")
+public class LogOutboxSink implements CustomerOutboxSink {
+
+    @Override
+    public void publish(List<CustomerOutboxMessage> batch) {
+        Log.debugf("Published %d customer change events (%d..%d)", batch.size(),
+                batch.get(0).eventId(), batch.get(batch.size() - 1).eventId());
+    }
+}
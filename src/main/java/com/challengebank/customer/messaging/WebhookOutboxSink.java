@@ -0,0 +1,67 @@
+package com.challengebank.customer.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// POSTs each batch as one NDJSON request; any 2xx response acknowledges the whole batch.
+@ApplicationScoped
+@Named("webhook")
+public class WebhookOutboxSink implements CustomerOutboxSink {
+
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "customer.outbox.webhook.url")
+    Optional<URI> url;
+
+    @ConfigProperty(name = "customer.outbox.webhook.timeout", defaultValue = "5s")
+    Duration timeout;
+
+    HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        if (url.isEmpty()) {
+            throw new IllegalStateException("customer.outbox.webhook.url is required for the webhook outbox sink");
+        }
+        httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(List<CustomerOutboxMessage> batch) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (CustomerOutboxMessage message : batch) {
+            body.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+        HttpRequest request = HttpRequest.newBuilder(url.get())
+                .timeout(timeout)
+                .header("Content-Type", APPLICATION_NDJSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while publishing customer change events", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + url.get() + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.challengebank.customer.model.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchValidateRequest {
+
+    @NotEmpty
+    public List<ValidateCustomerRequest> items;
+}
@@ -0,0 +1,14 @@
+package com.challengebank.customer.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public class CustomerLookupRequest {
+
+    public List<@NotNull UUID> customerIds;
+
+    public List<@Valid @NotNull DocumentLookupRequest> documents;
+}
@@ -0,0 +1,14 @@
+package com.challengebank.customer.model.dto.request;
+
+import com.challengebank.customer.model.enums.DocumentType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class DocumentLookupRequest {
+
+    @NotNull
+    public DocumentType documentType;
+
+    @NotBlank
+    public String documentId;
+}
@@ -0,0 +1,10 @@
+package com.challengebank.customer.model.dto.response;
+
+import java.util.List;
+
+public class BatchValidationResponse {
+
+    public List<ValidationResponse> results;
+    public int validCount;
+    public int invalidCount;
+}
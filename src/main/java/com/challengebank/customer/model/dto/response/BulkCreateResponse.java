@@ -0,0 +1,11 @@
+package com.challengebank.customer.model.dto.response;
+
+import java.util.List;
+
+public class BulkCreateResponse {
+
+    public List<BulkCreateResult> results;
+    public int createdCount;
+    public int duplicateCount;
+    public int invalidCount;
+}
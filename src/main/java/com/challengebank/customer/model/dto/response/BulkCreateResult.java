@@ -0,0 +1,15 @@
+package com.challengebank.customer.model.dto.response;
+
+import com.challengebank.customer.model.enums.BulkCreateOutcome;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkCreateResult {
+
+    public int index;
+    public BulkCreateOutcome outcome;
+    public UUID customerId;
+    public String message;
+    public List<FieldError> errors;
+}
@@ -0,0 +1,11 @@
+package com.challengebank.customer.model.dto.response;
+
+import java.util.List;
+
+public class CustomerChangesResponse {
+
+    public List<CustomerResponse> content;
+    public String since;
+    public String nextWatermark;
+    public boolean hasMore;
+}
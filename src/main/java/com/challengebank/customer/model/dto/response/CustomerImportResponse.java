@@ -0,0 +1,20 @@
+package com.challengebank.customer.model.dto.response;
+
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.model.enums.ImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class CustomerImportResponse {
+
+    public UUID importId;
+    public ImportFormat format;
+    public ImportStatus status;
+    public long totalRows;
+    public long importedRows;
+    public long rejectedRows;
+    public String error;
+    public LocalDateTime createdAt;
+    public LocalDateTime finishedAt;
+}
@@ -0,0 +1,11 @@
+package com.challengebank.customer.model.dto.response;
+
+import java.util.List;
+
+public class CustomerLookupResponse {
+
+    public List<CustomerLookupResult> customers;
+    public List<CustomerLookupResult> documents;
+    public int foundCount;
+    public int notFoundCount;
+}
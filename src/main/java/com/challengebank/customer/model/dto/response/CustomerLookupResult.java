@@ -0,0 +1,15 @@
+package com.challengebank.customer.model.dto.response;
+
+import com.challengebank.customer.model.enums.DocumentType;
+
+import java.util.UUID;
+
+public class CustomerLookupResult {
+
+    public int index;
+    public UUID customerId;
+    public DocumentType documentType;
+    public String documentId;
+    public boolean found;
+    public CustomerResponse customer;
+}
@@ -5,8 +5,11 @@ import java.util.List;
 public class CustomerPageResponse {
 
     public List<CustomerResponse> content;
-    public int page;
+    public Integer page;
     public int size;
-    public long totalElements;
-    public int totalPages;
+    public Long totalElements;
+    public Integer totalPages;
+    public Boolean hasNext;
+    public String cursor;
+    public String nextCursor;
 }
@@ -20,4 +20,5 @@ public class CustomerResponse {
     public CustomerStatus status;
     public LocalDateTime createdAt;
     public LocalDateTime updatedAt;
+    public Long version;
 }
@@ -12,12 +12,17 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@SqlResultSetMapping(name = Customer.STATUS_CHANGE_MAPPING,
+        entities = @EntityResult(entityClass = Customer.class),
+        columns = @ColumnResult(name = "previous_status", type = String.class))
 @Table(name = "customers", uniqueConstraints = {
         @UniqueConstraint(name = "uk_customers_document", columnNames = {"document_type", "document_id"}),
         @UniqueConstraint(name = "uk_customers_email", columnNames = {"email"})
 })
 public class Customer extends PanacheEntityBase {
 
+    public static final String STATUS_CHANGE_MAPPING = "CustomerStatusChange";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "customer_id", updatable = false, nullable = false)
@@ -57,6 +62,10 @@ public class Customer extends PanacheEntityBase {
     public LocalDateTime createdAt;
 
     @UpdateTimestamp
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     public LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    public long version;
 }
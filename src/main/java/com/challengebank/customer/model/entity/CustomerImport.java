@@ -0,0 +1,51 @@
+package com.challengebank.customer.model.entity;
+
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.model.enums.ImportStatus;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "customer_imports")
+public class CustomerImport extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "import_id", updatable = false, nullable = false)
+    public UUID importId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    public ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    public ImportStatus status;
+
+    @Column(name = "total_rows", nullable = false)
+    public long totalRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    public long importedRows;
+
+    @Column(name = "rejected_rows", nullable = false)
+    public long rejectedRows;
+
+    @Column(name = "error", length = 1000)
+    public String error;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    public LocalDateTime finishedAt;
+
+    // Touched periodically by the replica running the job; a job whose heartbeat stops was abandoned.
+    @Column(name = "heartbeat_at")
+    public LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,53 @@
+package com.challengebank.customer.model.entity;
+
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "customer_outbox")
+public class CustomerOutboxEntry extends PanacheEntityBase {
+
+    // Pooled ids keep outbox inserts in the same JDBC batches as the customer rows they describe.
+    @Id
+    @SequenceGenerator(name = "customer_outbox_seq", sequenceName = "customer_outbox_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_outbox_seq")
+    @Column(name = "event_id", updatable = false, nullable = false)
+    public Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    public CustomerChangeType type;
+
+    @Column(name = "customer_id", nullable = false)
+    public UUID customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", length = 10)
+    public DocumentType documentType;
+
+    @Column(name = "document_id", length = 20)
+    public String documentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status", length = 10)
+    public CustomerStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10)
+    public CustomerStatus status;
+
+    // The customer's version after the change: consumers use it to discard events that arrive after a newer one.
+    @Column(name = "customer_version", nullable = false)
+    public long customerVersion;
+
+    @CreationTimestamp
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    public LocalDateTime occurredAt;
+}
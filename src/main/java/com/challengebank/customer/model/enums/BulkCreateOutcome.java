@@ -0,0 +1,7 @@
+package com.challengebank.customer.model.enums;
+
+public enum BulkCreateOutcome {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,8 @@
+package com.challengebank.customer.model.enums;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    CACHED,
+    NONE
+}
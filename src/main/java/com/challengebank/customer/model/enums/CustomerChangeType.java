@@ -0,0 +1,8 @@
+package com.challengebank.customer.model.enums;
+
+public enum CustomerChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
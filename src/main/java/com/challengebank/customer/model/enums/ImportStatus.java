@@ -0,0 +1,13 @@
+package com.challengebank.customer.model.enums;
+
+public enum ImportStatus {
+    LOADING,
+    VALIDATING,
+    MERGING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
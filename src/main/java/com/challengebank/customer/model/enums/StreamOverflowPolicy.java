@@ -0,0 +1,6 @@
+package com.challengebank.customer.model.enums;
+
+public enum StreamOverflowPolicy {
+    DROP,
+    DISCONNECT
+}
@@ -0,0 +1,6 @@
+package com.challengebank.customer.model.projection;
+
+import com.challengebank.customer.model.enums.DocumentType;
+
+public record CustomerDocumentKey(DocumentType documentType, String documentId) {
+}
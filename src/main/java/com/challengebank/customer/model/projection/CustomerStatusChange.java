@@ -0,0 +1,11 @@
+package com.challengebank.customer.model.projection;
+
+import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.CustomerStatus;
+
+public record CustomerStatusChange(Customer customer, CustomerStatus previousStatus) {
+
+    public boolean changed() {
+        return previousStatus != customer.status;
+    }
+}
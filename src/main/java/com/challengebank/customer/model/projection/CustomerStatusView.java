@@ -0,0 +1,13 @@
+package com.challengebank.customer.model.projection;
+
+import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.CustomerStatus;
+
+import java.util.UUID;
+
+public record CustomerStatusView(UUID customerId, String documentId, CustomerStatus status) {
+
+    public static CustomerStatusView of(Customer customer) {
+        return new CustomerStatusView(customer.customerId, customer.documentId, customer.status);
+    }
+}
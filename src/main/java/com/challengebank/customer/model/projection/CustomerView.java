@@ -0,0 +1,30 @@
+package com.challengebank.customer.model.projection;
+
+import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CustomerView(
+        UUID customerId,
+        String firstName,
+        String lastName,
+        DocumentType documentType,
+        String documentId,
+        String email,
+        String phone,
+        LocalDate dateOfBirth,
+        CustomerStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long version) {
+
+    public static CustomerView of(Customer customer) {
+        return new CustomerView(customer.customerId, customer.firstName, customer.lastName, customer.documentType,
+                customer.documentId, customer.email, customer.phone, customer.dateOfBirth, customer.status,
+                customer.createdAt, customer.updatedAt, customer.version);
+    }
+}
@@ -0,0 +1,35 @@
+package com.challengebank.customer.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public final class CustomerConstraints {
+
+    public static final String DOCUMENT = "uk_customers_document";
+    public static final String EMAIL = "uk_customers_email";
+
+    private CustomerConstraints() {
+    }
+
+    // PostgreSQL reports the constraint name as declared; H2 reports the backing index, e.g. PUBLIC.UK_CUSTOMERS_EMAIL_INDEX_6.
+    public static Optional<String> violatedUniqueConstraint(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName() != null
+                        ? violation.getConstraintName()
+                        : String.valueOf(violation.getSQLException().getMessage());
+                String normalized = name.toLowerCase(Locale.ROOT);
+                if (normalized.contains(DOCUMENT)) {
+                    return Optional.of(DOCUMENT);
+                }
+                if (normalized.contains(EMAIL)) {
+                    return Optional.of(EMAIL);
+                }
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.challengebank.customer.repository;
+
+import com.challengebank.customer.model.entity.CustomerImport;
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.model.enums.ImportStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Job rows are written in their own transactions so the status endpoint sees progress while an import runs.
+@ApplicationScoped
+public class CustomerImportRepository implements PanacheRepositoryBase<CustomerImport, UUID> {
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public CustomerImport create(ImportFormat format) {
+        CustomerImport job = new CustomerImport();
+        job.format = format;
+        job.status = ImportStatus.LOADING;
+        persistAndFlush(job);
+        return job;
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Optional<CustomerImport> update(UUID importId, Consumer<CustomerImport> change) {
+        Optional<CustomerImport> job = findByIdOptional(importId);
+        job.ifPresent(change);
+        return job;
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void heartbeat(Collection<UUID> importIds, LocalDateTime now) {
+        update("heartbeatAt = ?1 where importId in ?2", now, importIds);
+    }
+
+    // Unfinished jobs whose last heartbeat (or creation, before the first one) is older than the cutoff.
+    @Transactional
+    public List<UUID> findAbandoned(LocalDateTime cutoff) {
+        return getEntityManager().createQuery("""
+                        select i.importId from CustomerImport i
+                        where i.status in :unfinished and coalesce(i.heartbeatAt, i.createdAt) < :cutoff""", UUID.class)
+                .setParameter("unfinished", List.of(ImportStatus.LOADING, ImportStatus.VALIDATING, ImportStatus.MERGING))
+                .setParameter("cutoff", cutoff)
+                .getResultList();
+    }
+
+    @Transactional
+    public Optional<CustomerImport> find(UUID importId) {
+        return findByIdOptional(importId);
+    }
+}
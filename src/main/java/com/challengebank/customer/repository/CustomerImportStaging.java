@@ -0,0 +1,154 @@
+package com.challengebank.customer.repository;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+// PostgreSQL-only import pipeline. Each import gets its own UNLOGGED staging table (no WAL, dropped once the import
+// finishes) that the upload is streamed into with COPY FROM STDIN. Rows are then validated and merged with
+// set-based statements, so the cost per row is a few bytes of SQL work instead of an entity round trip.
+@ApplicationScoped
+public class CustomerImportStaging {
+
+    public static final String UPLOAD_COLUMNS =
+            "first_name, last_name, document_type, document_id, email, phone, date_of_birth, address";
+    public static final String UPLOAD_COLUMNS_WITH_ERROR = UPLOAD_COLUMNS + ", parse_error";
+
+    // First failing rule per row, mirroring the constraints on CreateCustomerRequest.
+    static final String VALIDATE_FIELDS = """
+            UPDATE %1$s SET rejection = CASE
+                WHEN parse_error IS NOT NULL THEN parse_error
+                WHEN first_name IS NULL OR btrim(first_name) = '' THEN 'firstName: must not be blank'
+                WHEN length(first_name) > 100 THEN 'firstName: size must be between 1 and 100'
+                WHEN last_name IS NULL OR btrim(last_name) = '' THEN 'lastName: must not be blank'
+                WHEN length(last_name) > 100 THEN 'lastName: size must be between 1 and 100'
+                WHEN document_type IS NULL THEN 'documentType: must not be null'
+                WHEN document_type NOT IN ('DNI', 'PASSPORT', 'CEDULA', 'RUC') THEN 'documentType: unknown value'
+                WHEN document_id IS NULL OR btrim(document_id) = '' THEN 'documentId: must not be blank'
+                WHEN length(document_id) NOT BETWEEN 5 AND 20 THEN 'documentId: size must be between 5 and 20'
+                WHEN email IS NULL OR btrim(email) = '' THEN 'email: must not be blank'
+                WHEN email !~ '^[^@[:space:]]+@[^@[:space:]]+$' OR length(email) > 255
+                    THEN 'email: must be a well-formed email address'
+                WHEN NULLIF(phone, '') IS NOT NULL AND phone !~ '^\\+?[1-9][0-9]{1,14}$'
+                    THEN 'phone: must match "^\\+?[1-9]\\d{1,14}$"'
+                WHEN NULLIF(date_of_birth, '') IS NOT NULL AND NOT pg_input_is_valid(date_of_birth, 'date')
+                    THEN 'dateOfBirth: must be an ISO date'
+                WHEN length(address) > 500 THEN 'address: size must be between 0 and 500'
+            END""";
+
+    // Duplicates inside the file keep their first occurrence; everything else is checked against customers.
+    static final String VALIDATE_UNIQUENESS = """
+            UPDATE %1$s s SET rejection = d.reason
+            FROM (SELECT t.line_no, CASE
+                    WHEN row_number() OVER (PARTITION BY t.document_type, t.document_id ORDER BY t.line_no) > 1
+                        THEN 'documentId: duplicate of an earlier line'
+                    WHEN row_number() OVER (PARTITION BY t.email ORDER BY t.line_no) > 1
+                        THEN 'email: duplicate of an earlier line'
+                    WHEN EXISTS (SELECT 1 FROM customers c
+                                 WHERE c.document_type = t.document_type AND c.document_id = t.document_id)
+                        THEN 'documentId: customer already exists'
+                    WHEN EXISTS (SELECT 1 FROM customers c WHERE c.email = t.email)
+                        THEN 'email: customer already exists'
+                  END AS reason
+                  FROM %1$s t WHERE t.rejection IS NULL) d
+            WHERE s.line_no = d.line_no AND d.reason IS NOT NULL""";
+
+    // ON CONFLICT covers customers written concurrently since the uniqueness check; those rows are rejected too.
+    static final String MERGE = """
+            WITH inserted AS (
+                INSERT INTO customers (first_name, last_name, document_type, document_id, email, phone, date_of_birth,
+                                       address, status, created_at, updated_at)
+                SELECT first_name, last_name, document_type, document_id, email, NULLIF(phone, ''),
+                       CAST(NULLIF(date_of_birth, '') AS DATE), NULLIF(address, ''), 'PENDING', now(), now()
+                FROM %1$s WHERE rejection IS NULL ORDER BY line_no
+                ON CONFLICT DO NOTHING
+                RETURNING document_type, document_id)
+            UPDATE %1$s s SET rejection = 'customer already exists (concurrent write)'
+            WHERE s.rejection IS NULL AND NOT EXISTS (
+                SELECT 1 FROM inserted i WHERE i.document_type = s.document_type AND i.document_id = s.document_id)""";
+
+    static final String SAVE_REJECTIONS = """
+            INSERT INTO customer_import_rejections (import_id, line_no, reason)
+            SELECT ?, line_no, left(rejection, 200) FROM %1$s WHERE rejection IS NOT NULL""";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    static String tableName(UUID importId) {
+        return "customer_import_" + importId.toString().replace("-", "");
+    }
+
+    public long load(UUID importId, InputStream csv, boolean includesParseError) throws SQLException, IOException {
+        String table = tableName(importId);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE UNLOGGED TABLE " + table + " ("
+                        + "line_no BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, first_name TEXT, last_name TEXT, "
+                        + "document_type TEXT, document_id TEXT, email TEXT, phone TEXT, date_of_birth TEXT, "
+                        + "address TEXT, parse_error TEXT, rejection TEXT)");
+            }
+            String columns = includesParseError ? UPLOAD_COLUMNS_WITH_ERROR : UPLOAD_COLUMNS;
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columns + ") FROM STDIN (FORMAT csv)", csv);
+        }
+    }
+
+    public long validate(UUID importId) throws SQLException {
+        String table = tableName(importId);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(VALIDATE_FIELDS.formatted(table));
+            statement.executeUpdate(VALIDATE_UNIQUENESS.formatted(table));
+            try (ResultSet rejected = statement.executeQuery(
+                    "SELECT count(*) FROM " + table + " WHERE rejection IS NOT NULL")) {
+                rejected.next();
+                return rejected.getLong(1);
+            }
+        }
+    }
+
+    // Returns the rows rejected by the merge itself. The insert and the rejection report commit together.
+    public long merge(UUID importId) throws SQLException {
+        String table = tableName(importId);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement();
+                 PreparedStatement saveRejections = connection.prepareStatement(SAVE_REJECTIONS.formatted(table))) {
+                long conflicts = statement.executeUpdate(MERGE.formatted(table));
+                saveRejections.setObject(1, importId);
+                saveRejections.executeUpdate();
+                connection.commit();
+                return conflicts;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    public void drop(UUID importId) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + tableName(importId));
+        }
+    }
+
+    public long copyRejections(UUID importId, OutputStream out) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(
+                    "COPY (SELECT line_no AS line, reason FROM customer_import_rejections WHERE import_id = '"
+                            + importId + "' ORDER BY line_no) TO STDOUT (FORMAT csv, HEADER)", out);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.challengebank.customer.repository;
+
+import com.challengebank.customer.messaging.CustomerOutboxMessage;
+import com.challengebank.customer.messaging.CustomerOutboxSink;
+import com.challengebank.customer.model.entity.CustomerOutboxEntry;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.hibernate.LockMode;
+
+import java.io.IOException;
+import java.util.List;
+
+@ApplicationScoped
+public class CustomerOutboxRepository implements PanacheRepositoryBase<CustomerOutboxEntry, Long> {
+
+    // Locks the lowest event ids (skipping those another replica is publishing), hands them to the sink and
+    // deletes them in one statement once it returns. A failing sink rolls back, leaving the rows for the next
+    // drain. Id order is only roughly the order the changes committed.
+    @Transactional(rollbackOn = IOException.class)
+    public int drain(int batchSize, CustomerOutboxSink sink) throws IOException {
+        List<CustomerOutboxEntry> entries = getSession()
+                .createSelectionQuery("FROM CustomerOutboxEntry ORDER BY eventId", CustomerOutboxEntry.class)
+                .setHibernateLockMode(LockMode.UPGRADE_SKIPLOCKED)
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        sink.publish(entries.stream().map(CustomerOutboxMessage::of).toList());
+        delete("eventId in ?1", entries.stream().map(entry -> entry.eventId).toList());
+        return entries.size();
+    }
+}
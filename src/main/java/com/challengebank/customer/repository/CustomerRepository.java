@@ -3,20 +3,93 @@ package com.challengebank.customer.repository;
 import com.challengebank.customer.model.entity.Customer;
 import com.challengebank.customer.model.enums.CustomerStatus;
 import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.projection.CustomerDocumentKey;
+import com.challengebank.customer.model.projection.CustomerStatusChange;
+import com.challengebank.customer.model.projection.CustomerStatusView;
+import com.challengebank.customer.model.projection.CustomerView;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class CustomerRepository implements PanacheRepositoryBase<Customer, UUID> {
 
+    private static final Sort KEYSET_SORT = Sort.by("createdAt").and("customerId");
+    private static final Sort CHANGES_SORT = Sort.by("updatedAt").and("customerId");
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    private static final String COMPARE_AND_SET_STATUS = """
+            WITH prev AS (SELECT customer_id, status FROM customers WHERE customer_id = :customerId FOR UPDATE)
+            UPDATE customers c SET status = :status, updated_at = :updatedAt, version = c.version + 1
+            FROM prev
+            WHERE c.customer_id = prev.customer_id AND prev.status IN (:allowed)
+              AND c.version = COALESCE(CAST(:expectedVersion AS BIGINT), c.version)
+            RETURNING c.*, prev.status AS previous_status""";
+    private static final String OLDEST_WRITE_TRANSACTION = """
+            SELECT CAST(min(xact_start) AS TIMESTAMP) FROM pg_stat_activity
+            WHERE backend_xid IS NOT NULL AND datname = current_database()""";
+
     public Optional<Customer> findByDocumentId(String documentId) {
         return find("documentId", documentId).firstResultOptional();
     }
 
+    public Optional<CustomerView> findViewById(UUID customerId) {
+        return find("customerId", customerId).project(CustomerView.class).firstResultOptional();
+    }
+
+    public Optional<CustomerView> findViewByDocumentId(String documentId) {
+        return find("documentId", documentId).project(CustomerView.class).firstResultOptional();
+    }
+
+    public Optional<Long> findVersionById(UUID customerId) {
+        return getEntityManager()
+                .createQuery("select c.version from Customer c where c.customerId = :customerId", Long.class)
+                .setParameter("customerId", customerId)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<Long> findVersionByDocumentId(String documentId) {
+        return getEntityManager()
+                .createQuery("select c.version from Customer c where c.documentId = :documentId", Long.class)
+                .setParameter("documentId", documentId)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<CustomerStatusView> findStatusById(UUID customerId) {
+        return find("customerId", customerId).project(CustomerStatusView.class).firstResultOptional();
+    }
+
+    public Optional<CustomerStatusView> findStatusByDocumentId(String documentId) {
+        return find("documentId", documentId).project(CustomerStatusView.class).firstResultOptional();
+    }
+
     public Optional<Customer> findByEmail(String email) {
         return find("email", email).firstResultOptional();
     }
@@ -25,14 +98,213 @@ public class CustomerRepository implements PanacheRepositoryBase<Customer, UUID>
         return find("documentType = ?1 and documentId = ?2", documentType, documentId).firstResultOptional();
     }
 
+    public List<CustomerView> findViewsByIds(Collection<UUID> customerIds) {
+        return find("customerId in ?1", customerIds).project(CustomerView.class).list();
+    }
+
+    // Matches on documentId only (the indexed column); callers filter on documentType.
+    public List<CustomerView> findViewsByDocumentIds(Collection<String> documentIds) {
+        return find("documentId in ?1", documentIds).project(CustomerView.class).list();
+    }
+
+    public List<CustomerStatusView> findStatusesByIds(Collection<UUID> customerIds) {
+        return getEntityManager().createQuery(
+                        "select new " + CustomerStatusView.class.getName() + "(c.customerId, c.documentId, c.status)"
+                                + " from Customer c where c.customerId in :ids", CustomerStatusView.class)
+                .setParameter("ids", customerIds)
+                .getResultList();
+    }
+
+    public List<CustomerStatusView> findStatusesByDocumentIds(Collection<String> documentIds) {
+        return getEntityManager().createQuery(
+                        "select new " + CustomerStatusView.class.getName() + "(c.customerId, c.documentId, c.status)"
+                                + " from Customer c where c.documentId in :documentIds", CustomerStatusView.class)
+                .setParameter("documentIds", documentIds)
+                .getResultList();
+    }
+
+    public List<CustomerDocumentKey> findExistingDocuments(Collection<String> documentIds) {
+        return getEntityManager().createQuery(
+                        "select new " + CustomerDocumentKey.class.getName() + "(c.documentType, c.documentId)"
+                                + " from Customer c where c.documentId in :documentIds", CustomerDocumentKey.class)
+                .setParameter("documentIds", documentIds)
+                .getResultList();
+    }
+
+    public List<String> findExistingEmails(Collection<String> emails) {
+        return getEntityManager()
+                .createQuery("select c.email from Customer c where c.email in :emails", String.class)
+                .setParameter("emails", emails)
+                .getResultList();
+    }
+
+    public void flushAndClear() {
+        flush();
+        getEntityManager().clear();
+    }
+
     public PanacheQuery<Customer> findByStatus(CustomerStatus status) {
         return find("status", status);
     }
 
+    public List<CustomerView> findPage(CustomerStatus status, int offset, int limit) {
+        PanacheQuery<Customer> query = status != null ? findByStatus(status) : findAll();
+        return query.project(CustomerView.class).range(offset, offset + limit - 1).list();
+    }
+
+    public List<CustomerView> findPageAfter(CustomerStatus status, CustomerCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Parameters params = new Parameters();
+        if (status != null) {
+            predicates.add("status = :status");
+            params.and("status", status);
+        }
+        if (after != null) {
+            predicates.add("(createdAt, customerId) > (:createdAt, :customerId)");
+            params.and("createdAt", after.timestamp()).and("customerId", after.customerId());
+        }
+        PanacheQuery<Customer> query = predicates.isEmpty()
+                ? findAll(KEYSET_SORT)
+                : find(String.join(" and ", predicates), KEYSET_SORT, params);
+        return query.project(CustomerView.class).range(0, limit - 1).list();
+    }
+
+    public List<CustomerView> findChangedAfter(CustomerCursor after, LocalDateTime until, int limit) {
+        String query = "updatedAt < :until";
+        Parameters params = Parameters.with("until", until);
+        if (after != null) {
+            query += " and (updatedAt, customerId) > (:updatedAt, :customerId)";
+            params.and("updatedAt", after.timestamp()).and("customerId", after.customerId());
+        }
+        return find(query, CHANGES_SORT, params).project(CustomerView.class).range(0, limit - 1).list();
+    }
+
+    // PostgreSQL only: start of the oldest transaction that has written something and not yet committed.
+    public Optional<LocalDateTime> oldestWriteTransactionStart() {
+        return Optional.ofNullable(getEntityManager()
+                .createNativeQuery(OLDEST_WRITE_TRANSACTION, LocalDateTime.class)
+                .getSingleResult())
+                .map(LocalDateTime.class::cast);
+    }
+
+    // Forward-only cursor over DTO rows: the driver fetches fetchSize rows at a time and nothing is kept in
+    // the persistence context, so memory stays flat however many rows are read.
+    public Stream<CustomerView> streamForExport(CustomerStatus status, LocalDateTime updatedSince, int fetchSize) {
+        List<String> predicates = new ArrayList<>();
+        Parameters params = new Parameters();
+        if (status != null) {
+            predicates.add("status = :status");
+            params.and("status", status);
+        }
+        if (updatedSince != null) {
+            predicates.add("updatedAt >= :updatedSince");
+            params.and("updatedSince", updatedSince);
+        }
+        PanacheQuery<Customer> query = predicates.isEmpty()
+                ? findAll(KEYSET_SORT)
+                : find(String.join(" and ", predicates), KEYSET_SORT, params);
+        return query.project(CustomerView.class)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+
+    // Same forward-only cursor as the export, over (customerId, documentId, status) only, optionally limited to
+    // rows changed since a watermark. Runs in its own transaction so it can be called from a background thread;
+    // the action returns false to stop early.
+    @Transactional
+    @TransactionConfiguration(timeout = 3600, timeoutFromConfigProperty = "customer.status-index.load-timeout")
+    public long forEachStatus(LocalDateTime updatedSince, int fetchSize, Predicate<CustomerStatusView> action) {
+        PanacheQuery<Customer> query = updatedSince == null ? findAll() : find("updatedAt >= ?1", updatedSince);
+        try (Stream<CustomerStatusView> rows = query.project(CustomerStatusView.class)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+            long count = 0;
+            Iterator<CustomerStatusView> iterator = rows.iterator();
+            while (iterator.hasNext() && action.test(iterator.next())) {
+                count++;
+            }
+            return count;
+        }
+    }
+
     public long countByStatus(CustomerStatus status) {
         return count("status", status);
     }
 
+    public Map<CustomerStatus, Long> countGroupedByStatus() {
+        Map<CustomerStatus, Long> counts = new EnumMap<>(CustomerStatus.class);
+        getEntityManager()
+                .createQuery("select c.status, count(c) from Customer c group by c.status", Object[].class)
+                .getResultList()
+                .forEach(row -> counts.put((CustomerStatus) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    public Map<DocumentType, Long> countGroupedByDocumentType() {
+        Map<DocumentType, Long> counts = new EnumMap<>(DocumentType.class);
+        getEntityManager()
+                .createQuery("select c.documentType, count(c) from Customer c group by c.documentType", Object[].class)
+                .getResultList()
+                .forEach(row -> counts.put((DocumentType) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    public OptionalLong estimateCount() {
+        Number reltuples = (Number) getEntityManager()
+                .createNativeQuery("SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('customers' AS regclass)")
+                .getSingleResult();
+        return reltuples.longValue() < 0 ? OptionalLong.empty() : OptionalLong.of(reltuples.longValue());
+    }
+
+    public OptionalLong estimateCountByStatus(CustomerStatus status) {
+        List<?> plan = getEntityManager()
+                .createNativeQuery("EXPLAIN SELECT 1 FROM customers WHERE status = '" + status.name() + "'")
+                .getResultList();
+        if (plan.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        Matcher rows = PLAN_ROWS.matcher(plan.get(0).toString());
+        return rows.find() ? OptionalLong.of(Long.parseLong(rows.group(1))) : OptionalLong.empty();
+    }
+
+    // expectedVersion (from If-Match) is checked in the same statement; null accepts any version. It is bound
+    // with an explicit type so a null goes out as a BIGINT rather than an untyped (or bytea) parameter.
+    public Optional<CustomerStatusChange> compareAndSetStatus(UUID customerId, CustomerStatus status,
+                                                              Set<CustomerStatus> allowed, Long expectedVersion) {
+        NativeQuery<?> query = getEntityManager()
+                .createNativeQuery(COMPARE_AND_SET_STATUS, Customer.STATUS_CHANGE_MAPPING)
+                .unwrap(NativeQuery.class);
+        List<?> rows = query
+                .setParameter("customerId", customerId)
+                .setParameter("status", status.name())
+                .setParameter("updatedAt", LocalDateTime.now())
+                .setParameter("allowed", allowed.stream().map(Enum::name).toList())
+                .setParameter("expectedVersion", expectedVersion, Long.class)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.get(0);
+        return Optional.of(new CustomerStatusChange((Customer) row[0], CustomerStatus.valueOf((String) row[1])));
+    }
+
+    public Optional<CustomerStatusChange> compareAndSetStatusLocked(UUID customerId, CustomerStatus status,
+                                                                    Set<CustomerStatus> allowed, Long expectedVersion) {
+        Optional<Customer> locked = findByIdOptional(customerId, LockModeType.PESSIMISTIC_WRITE);
+        if (locked.isEmpty() || !allowed.contains(locked.get().status)
+                || expectedVersion != null && locked.get().version != expectedVersion) {
+            return Optional.empty();
+        }
+        Customer customer = locked.get();
+        CustomerStatus previousStatus = customer.status;
+        customer.status = status;
+        // Flushing bumps the version now, so the response carries the new ETag.
+        flush();
+        return Optional.of(new CustomerStatusChange(customer, previousStatus));
+    }
+
     public boolean existsByDocumentTypeAndDocumentId(DocumentType documentType, String documentId) {
         return count("documentType = ?1 and documentId = ?2", documentType, documentId) > 0;
     }
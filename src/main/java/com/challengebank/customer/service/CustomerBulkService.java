@@ -0,0 +1,185 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.exception.DuplicateCustomerException;
+import com.challengebank.customer.mapper.CustomerMapper;
+import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BulkCreateResponse;
+import com.challengebank.customer.model.dto.response.BulkCreateResult;
+import com.challengebank.customer.model.dto.response.FieldError;
+import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.BulkCreateOutcome;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.projection.CustomerDocumentKey;
+import com.challengebank.customer.repository.CustomerConstraints;
+import com.challengebank.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@ApplicationScoped
+public class CustomerBulkService {
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerMapper customerMapper;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    Event<CustomerChangedEvent> customerChangedEvent;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "customer.bulk.max-size", defaultValue = "10000")
+    int maxBulkSize;
+
+    @ConfigProperty(name = "customer.bulk.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    Counter successCounter;
+    Counter failureCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        successCounter = meterRegistry.counter("customer.operations.success");
+        failureCounter = meterRegistry.counter("customer.operations.failure");
+    }
+
+    @Transactional
+    public BulkCreateResponse createCustomers(List<CreateCustomerRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one customer must be provided");
+        }
+        if (requests.size() > maxBulkSize) {
+            throw new IllegalArgumentException(
+                    "Bulk size " + requests.size() + " exceeds the maximum of " + maxBulkSize);
+        }
+
+        BulkCreateResponse response = new BulkCreateResponse();
+        response.results = new ArrayList<>(requests.size());
+        Set<CustomerDocumentKey> seenDocuments = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, requests.size());
+            createChunk(requests, start, end, seenDocuments, seenEmails, response);
+            flushChunk();
+        }
+
+        successCounter.increment(response.createdCount);
+        failureCounter.increment(response.duplicateCount + response.invalidCount);
+        Log.infof("Bulk create finished: %d created, %d duplicate, %d invalid",
+                response.createdCount, response.duplicateCount, response.invalidCount);
+        return response;
+    }
+
+    // Rows were pre-checked, so a violation here means a concurrent writer inserted the same customer.
+    private void flushChunk() {
+        try {
+            customerRepository.flushAndClear();
+        } catch (PersistenceException e) {
+            failureCounter.increment();
+            String constraint = CustomerConstraints.violatedUniqueConstraint(e).orElse(null);
+            if (constraint == null) {
+                throw e;
+            }
+            String field = CustomerConstraints.DOCUMENT.equals(constraint) ? "documentId" : "email";
+            throw new DuplicateCustomerException(field,
+                    "A concurrent request created a customer with the same " + field + "; no rows were created");
+        }
+    }
+
+    private void createChunk(List<CreateCustomerRequest> requests, int start, int end,
+                             Set<CustomerDocumentKey> seenDocuments, Set<String> seenEmails,
+                             BulkCreateResponse response) {
+        List<BulkCreateResult> chunkResults = new ArrayList<>(end - start);
+        Set<String> documentIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = start; i < end; i++) {
+            BulkCreateResult result = validate(i, requests.get(i));
+            chunkResults.add(result);
+            if (result.outcome == null) {
+                documentIds.add(requests.get(i).documentId);
+                emails.add(requests.get(i).email);
+            }
+        }
+
+        if (!documentIds.isEmpty()) {
+            seenDocuments.addAll(customerRepository.findExistingDocuments(documentIds));
+            seenEmails.addAll(customerRepository.findExistingEmails(emails));
+        }
+
+        for (BulkCreateResult result : chunkResults) {
+            if (result.outcome == null) {
+                create(requests.get(result.index), result, seenDocuments, seenEmails);
+            }
+            switch (result.outcome) {
+                case CREATED -> response.createdCount++;
+                case DUPLICATE -> response.duplicateCount++;
+                case INVALID -> response.invalidCount++;
+            }
+            response.results.add(result);
+        }
+    }
+
+    private BulkCreateResult validate(int index, CreateCustomerRequest request) {
+        BulkCreateResult result = new BulkCreateResult();
+        result.index = index;
+        if (request == null) {
+            result.outcome = BulkCreateOutcome.INVALID;
+            result.message = "Row could not be parsed";
+            return result;
+        }
+        Set<ConstraintViolation<CreateCustomerRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            result.outcome = BulkCreateOutcome.INVALID;
+            result.message = "Validation failed";
+            result.errors = violations.stream()
+                    .map(v -> new FieldError(v.getPropertyPath().toString(), v.getMessage()))
+                    .toList();
+        }
+        return result;
+    }
+
+    private void create(CreateCustomerRequest request, BulkCreateResult result,
+                        Set<CustomerDocumentKey> seenDocuments, Set<String> seenEmails) {
+        CustomerDocumentKey document = new CustomerDocumentKey(request.documentType, request.documentId);
+        if (seenDocuments.contains(document)) {
+            result.outcome = BulkCreateOutcome.DUPLICATE;
+            result.message = "Customer with document " + request.documentType + ":" + request.documentId
+                    + " already exists";
+            return;
+        }
+        if (seenEmails.contains(request.email)) {
+            result.outcome = BulkCreateOutcome.DUPLICATE;
+            result.message = "Customer with email " + request.email + " already exists";
+            return;
+        }
+        seenDocuments.add(document);
+        seenEmails.add(request.email);
+
+        Customer customer = customerMapper.toEntity(request);
+        customerRepository.persist(customer);
+        customerChangedEvent.fire(CustomerChangedEvent.of(CustomerChangeType.CREATED, customer, null));
+        result.outcome = BulkCreateOutcome.CREATED;
+        result.customerId = customer.customerId;
+    }
+}
@@ -0,0 +1,74 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.model.enums.CountMode;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.repository.CustomerRepository;
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+@ApplicationScoped
+public class CustomerCountService {
+
+    private static final String ALL_STATUSES = "*";
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @ConfigProperty(name = "customer.pagination.count-cache-ttl", defaultValue = "30s")
+    Duration countCacheTtl;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    public long count(CountMode mode, CustomerStatus status) {
+        return switch (mode) {
+            case EXACT -> exactCount(status);
+            case ESTIMATED -> estimatedCount(status);
+            case CACHED -> cachedCount(status);
+            case NONE -> throw new IllegalArgumentException("Count mode NONE does not produce a count");
+        };
+    }
+
+    long exactCount(CustomerStatus status) {
+        return status != null ? customerRepository.countByStatus(status) : customerRepository.count();
+    }
+
+    long estimatedCount(CustomerStatus status) {
+        if (!"postgresql".equals(dbKind)) {
+            return exactCount(status);
+        }
+        OptionalLong estimate = status != null
+                ? customerRepository.estimateCountByStatus(status)
+                : customerRepository.estimateCount();
+        if (estimate.isEmpty()) {
+            Log.debugf("No planner statistics for customers (status %s), falling back to exact count", status);
+            return exactCount(status);
+        }
+        return estimate.getAsLong();
+    }
+
+    long cachedCount(CustomerStatus status) {
+        String key = status != null ? status.name() : ALL_STATUSES;
+        long now = System.nanoTime();
+        CachedCount cached = cachedCounts.get(key);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.value();
+        }
+        // Counted outside the map: a query inside compute() would hold the bin lock and pin a virtual thread.
+        CachedCount fresh = new CachedCount(exactCount(status), now + countCacheTtl.toNanos());
+        cachedCounts.put(key, fresh);
+        return fresh.value();
+    }
+
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
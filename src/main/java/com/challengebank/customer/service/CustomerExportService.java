@@ -0,0 +1,177 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.mapper.CustomerMapper;
+import com.challengebank.customer.model.dto.response.CustomerResponse;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.ExportFormat;
+import com.challengebank.customer.model.enums.ExportMode;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.postgresql.PGConnection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@ApplicationScoped
+public class CustomerExportService {
+
+    static final String CSV_HEADER =
+            "customerId,firstName,lastName,documentType,documentId,email,phone,dateOfBirth,status,createdAt,updatedAt";
+    static final String COPY_COLUMNS = "customer_id AS \"customerId\", first_name AS \"firstName\", "
+            + "last_name AS \"lastName\", document_type AS \"documentType\", document_id AS \"documentId\", email, "
+            + "phone, date_of_birth AS \"dateOfBirth\", status, created_at AS \"createdAt\", updated_at AS \"updatedAt\"";
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerMapper customerMapper;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @ConfigProperty(name = "customer.export.fetch-size", defaultValue = "1000")
+    int fetchSize;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public void requireSupported(ExportFormat format, ExportMode mode) {
+        if (mode == ExportMode.COPY && format == ExportFormat.NDJSON) {
+            throw new IllegalArgumentException("COPY export supports CSV and BINARY formats only");
+        }
+        if (format == ExportFormat.BINARY && (mode != ExportMode.COPY || !usesCopy())) {
+            throw new IllegalArgumentException("BINARY export requires mode COPY on PostgreSQL");
+        }
+    }
+
+    boolean usesCopy() {
+        return "postgresql".equals(dbKind);
+    }
+
+    // COPY streams the driver's bytes straight into the response without building a Java object per row. Other
+    // databases (the H2 test profile) fall back to the cursor-based CSV export.
+    public long copy(ExportFormat format, CustomerStatus status, LocalDateTime updatedSince, OutputStream out)
+            throws IOException {
+        requireSupported(format, ExportMode.COPY);
+        if (!usesCopy()) {
+            return export(format, status, updatedSince, out);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            long rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut(copySql(format, status, updatedSince), out);
+            Log.infof("Copied %d customers as %s (status %s, updated since %s)", rows, format, status, updatedSince);
+            return rows;
+        } catch (SQLException e) {
+            throw new IOException("COPY export failed: " + e.getMessage(), e);
+        }
+    }
+
+    // COPY takes no bind parameters; both filters are typed values (an enum name and a parsed timestamp), so
+    // inlining them cannot inject SQL.
+    static String copySql(ExportFormat format, CustomerStatus status, LocalDateTime updatedSince) {
+        List<String> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add("status = '" + status.name() + "'");
+        }
+        if (updatedSince != null) {
+            predicates.add("updated_at >= TIMESTAMP '" + updatedSince + "'");
+        }
+        return "COPY (SELECT " + COPY_COLUMNS + " FROM customers"
+                + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+                + " ORDER BY created_at, customer_id) TO STDOUT "
+                + (format == ExportFormat.BINARY ? "(FORMAT binary)" : "(FORMAT csv, HEADER)");
+    }
+
+    // The transaction keeps the server-side cursor open (PostgreSQL only honours the fetch size with autocommit
+    // off). Rows are written as they are read; a slow client blocks the write and with it the next fetch, so the
+    // transaction gets its own timeout instead of the default 60s.
+    @Transactional
+    @TransactionConfiguration(timeout = 3600, timeoutFromConfigProperty = "customer.export.timeout")
+    public long export(ExportFormat format, CustomerStatus status, LocalDateTime updatedSince, OutputStream out)
+            throws IOException {
+        long rows;
+        try (Stream<CustomerView> customers = customerRepository.streamForExport(status, updatedSince, fetchSize)) {
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(customers.iterator(), out);
+                case CSV -> writeCsv(customers.iterator(), out);
+                case BINARY -> throw new IllegalArgumentException("BINARY export requires mode COPY on PostgreSQL");
+            };
+        }
+        Log.infof("Exported %d customers as %s (status %s, updated since %s)", rows, format, status, updatedSince);
+        return rows;
+    }
+
+    long writeNdjson(Iterator<CustomerView> customers, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            while (customers.hasNext()) {
+                objectMapper.writeValue(generator, customerMapper.toResponse(customers.next()));
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    long writeCsv(Iterator<CustomerView> customers, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (customers.hasNext()) {
+            CustomerResponse customer = customerMapper.toResponse(customers.next());
+            writer.write(csvLine(customer.customerId, customer.firstName, customer.lastName, customer.documentType,
+                    customer.documentId, customer.email, customer.phone, customer.dateOfBirth, customer.status,
+                    customer.createdAt, customer.updatedAt));
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    static String csvLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvField(Objects.toString(values[i], "")));
+        }
+        return line.toString();
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
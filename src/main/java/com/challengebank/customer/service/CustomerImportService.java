@@ -0,0 +1,319 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.config.MetricsConfig;
+import com.challengebank.customer.exception.ImportNotFoundException;
+import com.challengebank.customer.model.dto.response.CustomerImportResponse;
+import com.challengebank.customer.model.entity.CustomerImport;
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.model.enums.ImportStatus;
+import com.challengebank.customer.repository.CustomerImportRepository;
+import com.challengebank.customer.repository.CustomerImportStaging;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ApplicationScoped
+public class CustomerImportService {
+
+    static final List<String> FIELDS =
+            List.of("firstName", "lastName", "documentType", "documentId", "email", "phone", "dateOfBirth", "address");
+    static final String CSV_HEADER = String.join(",", FIELDS);
+
+    @Inject
+    CustomerImportRepository importRepository;
+
+    @Inject
+    CustomerImportStaging staging;
+
+    @Inject
+    MetricsConfig metricsConfig;
+
+    @Inject
+    CustomerNotFoundCache notFoundCache;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @ConfigProperty(name = "customer.import.max-concurrent", defaultValue = "2")
+    int maxConcurrent;
+
+    @ConfigProperty(name = "customer.import.abandoned-after", defaultValue = "5m")
+    Duration abandonedAfter;
+
+    Executor executor;
+
+    // Jobs this replica is loading or processing; only these get heartbeats.
+    final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newFixedThreadPool(maxConcurrent,
+                Thread.ofPlatform().daemon().name("customer-import-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    // The upload is copied into staging while the request is open; validation and the merge run in the background.
+    public CustomerImportResponse startImport(ImportFormat format, InputStream body) throws IOException {
+        if (!"postgresql".equals(dbKind)) {
+            throw new IllegalArgumentException("Bulk import requires PostgreSQL");
+        }
+        UUID importId = importRepository.create(format).importId;
+        running.add(importId);
+        long rows = load(importId, format, body);
+        CustomerImport job = importRepository.update(importId, loaded -> {
+            loaded.totalRows = rows;
+            loaded.status = ImportStatus.VALIDATING;
+        }).orElseThrow(() -> new ImportNotFoundException("Import not found: " + importId));
+        executor.execute(() -> process(importId));
+        Log.infof("Customer import %s staged %d rows", importId, rows);
+        return toResponse(job);
+    }
+
+    private long load(UUID importId, ImportFormat format, InputStream body) throws IOException {
+        try {
+            return format == ImportFormat.CSV
+                    ? staging.load(importId, withoutHeader(body), false)
+                    : staging.load(importId, new NdjsonCsvStream(body, objectMapper), true);
+        } catch (SQLException e) {
+            fail(importId, e.getMessage());
+            throw new IllegalArgumentException("Import " + importId + " rejected: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            fail(importId, e.getMessage());
+            throw e;
+        }
+    }
+
+    void process(UUID importId) {
+        try {
+            long rejected = staging.validate(importId);
+            importRepository.update(importId, job -> {
+                job.rejectedRows = rejected;
+                job.status = ImportStatus.MERGING;
+            });
+            long conflicts = staging.merge(importId);
+            importRepository.update(importId, job -> {
+                job.rejectedRows += conflicts;
+                job.importedRows = job.totalRows - job.rejectedRows;
+                job.status = ImportStatus.COMPLETED;
+                job.finishedAt = LocalDateTime.now();
+            }).ifPresent(job -> Log.infof("Customer import %s completed: %d imported, %d rejected",
+                    importId, job.importedRows, job.rejectedRows));
+            dropStaging(importId);
+            // The merge fires no change events: forget this replica's misses (other replicas' expire by TTL).
+            notFoundCache.evictAll();
+            metricsConfig.refreshCounts();
+        } catch (SQLException | RuntimeException e) {
+            Log.errorf(e, "Customer import %s failed", importId);
+            fail(importId, e.getMessage());
+        } finally {
+            running.remove(importId);
+        }
+    }
+
+    private void fail(UUID importId, String message) {
+        importRepository.update(importId, job -> {
+            job.status = ImportStatus.FAILED;
+            job.error = message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+            job.finishedAt = LocalDateTime.now();
+        });
+        running.remove(importId);
+        dropStaging(importId);
+    }
+
+    // Jobs run on a daemon executor, so a restart (or a crash) mid-import leaves the job unfinished with its
+    // staging table behind. Runs at startup and then periodically: heartbeats this replica's jobs and fails the
+    // ones no replica has touched for abandoned-after.
+    @Scheduled(every = "${customer.import.heartbeat-interval:1m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweep() {
+        if (!"postgresql".equals(dbKind)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!running.isEmpty()) {
+            importRepository.heartbeat(Set.copyOf(running), now);
+        }
+        LocalDateTime cutoff = now.minus(abandonedAfter);
+        for (UUID importId : importRepository.findAbandoned(cutoff)) {
+            if (!running.contains(importId)) {
+                abandon(importId, cutoff);
+            }
+        }
+    }
+
+    private void abandon(UUID importId, LocalDateTime cutoff) {
+        boolean[] abandoned = {false};
+        importRepository.update(importId, job -> {
+            LocalDateTime lastSeen = job.heartbeatAt != null ? job.heartbeatAt : job.createdAt;
+            if (!job.status.isFinished() && lastSeen != null && lastSeen.isBefore(cutoff)) {
+                job.error = "Abandoned in " + job.status + ": the replica running it stopped";
+                job.status = ImportStatus.FAILED;
+                job.finishedAt = LocalDateTime.now();
+                abandoned[0] = true;
+            }
+        });
+        if (abandoned[0]) {
+            Log.warnf("Customer import %s was abandoned, marked as failed", importId);
+            dropStaging(importId);
+        }
+    }
+
+    private void dropStaging(UUID importId) {
+        try {
+            staging.drop(importId);
+        } catch (SQLException e) {
+            Log.warnf("Could not drop staging table of import %s: %s", importId, e.getMessage());
+        }
+    }
+
+    public CustomerImportResponse getImport(UUID importId) {
+        return importRepository.find(importId).map(CustomerImportService::toResponse)
+                .orElseThrow(() -> new ImportNotFoundException("Import not found: " + importId));
+    }
+
+    public void writeRejections(UUID importId, OutputStream out) throws IOException {
+        try {
+            staging.copyRejections(importId, out);
+        } catch (SQLException e) {
+            throw new IOException("Could not export rejections of import " + importId + ": " + e.getMessage(), e);
+        }
+    }
+
+    static CustomerImportResponse toResponse(CustomerImport job) {
+        CustomerImportResponse response = new CustomerImportResponse();
+        response.importId = job.importId;
+        response.format = job.format;
+        response.status = job.status;
+        response.totalRows = job.totalRows;
+        response.importedRows = job.importedRows;
+        response.rejectedRows = job.rejectedRows;
+        response.error = job.error;
+        response.createdAt = job.createdAt;
+        response.finishedAt = job.finishedAt;
+        return response;
+    }
+
+    // Checks the header and hands the remaining bytes to COPY untouched, so quoted multi-line fields survive.
+    static InputStream withoutHeader(InputStream body) throws IOException {
+        InputStream in = new BufferedInputStream(body);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            header.write(b);
+        }
+        String columns = header.toString(StandardCharsets.UTF_8).replace("\uFEFF", "").replace(" ", "").strip();
+        if (!columns.equalsIgnoreCase(CSV_HEADER)) {
+            throw new IllegalArgumentException("CSV header must be: " + CSV_HEADER);
+        }
+        return in;
+    }
+
+    // Turns NDJSON into CSV records for COPY one line at a time. A line that is not a JSON object becomes a row
+    // carrying only a parse error, so it shows up in the rejection report with its record number.
+    static final class NdjsonCsvStream extends InputStream {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private byte[] current = new byte[0];
+        private int position;
+
+        NdjsonCsvStream(InputStream body, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? current[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private boolean fill() throws IOException {
+            while (position >= current.length) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                current = toCsvRecord(line).getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+
+        String toCsvRecord(String line) {
+            Object[] values = new Object[FIELDS.size() + 1];
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (node == null || !node.isObject()) {
+                    values[FIELDS.size()] = "line: not a JSON object";
+                } else {
+                    for (int i = 0; i < FIELDS.size(); i++) {
+                        JsonNode value = node.get(FIELDS.get(i));
+                        values[i] = value == null || value.isNull() ? null
+                                : value.isValueNode() ? value.asText() : value.toString();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                values[FIELDS.size()] = "line: not valid JSON";
+            }
+            return CustomerExportService.csvLine(values) + "\n";
+        }
+    }
+}
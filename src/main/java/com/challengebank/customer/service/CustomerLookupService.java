@@ -0,0 +1,95 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.mapper.CustomerMapper;
+import com.challengebank.customer.model.dto.request.CustomerLookupRequest;
+import com.challengebank.customer.model.dto.request.DocumentLookupRequest;
+import com.challengebank.customer.model.dto.response.CustomerLookupResponse;
+import com.challengebank.customer.model.dto.response.CustomerLookupResult;
+import com.challengebank.customer.model.projection.CustomerDocumentKey;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationScoped
+public class CustomerLookupService {
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerMapper customerMapper;
+
+    @ConfigProperty(name = "customer.lookup.max-size", defaultValue = "200")
+    int maxLookupSize;
+
+    // One IN query per key type, however many keys were sent; results come back in input order.
+    public CustomerLookupResponse lookupCustomers(CustomerLookupRequest request) {
+        List<UUID> customerIds = request.customerIds != null ? request.customerIds : List.of();
+        List<DocumentLookupRequest> documents = request.documents != null ? request.documents : List.of();
+        int size = customerIds.size() + documents.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("At least one customerId or document must be provided");
+        }
+        if (size > maxLookupSize) {
+            throw new IllegalArgumentException(
+                    "Lookup size " + size + " exceeds the maximum of " + maxLookupSize);
+        }
+
+        Map<UUID, CustomerView> byId = new HashMap<>();
+        if (!customerIds.isEmpty()) {
+            for (CustomerView view : customerRepository.findViewsByIds(new LinkedHashSet<>(customerIds))) {
+                byId.put(view.customerId(), view);
+            }
+        }
+        Map<CustomerDocumentKey, CustomerView> byDocument = new HashMap<>();
+        if (!documents.isEmpty()) {
+            Set<String> documentIds = new LinkedHashSet<>();
+            documents.forEach(document -> documentIds.add(document.documentId));
+            for (CustomerView view : customerRepository.findViewsByDocumentIds(documentIds)) {
+                byDocument.put(new CustomerDocumentKey(view.documentType(), view.documentId()), view);
+            }
+        }
+
+        CustomerLookupResponse response = new CustomerLookupResponse();
+        response.customers = new ArrayList<>(customerIds.size());
+        for (int i = 0; i < customerIds.size(); i++) {
+            CustomerLookupResult result = new CustomerLookupResult();
+            result.index = i;
+            result.customerId = customerIds.get(i);
+            response.customers.add(resolve(result, byId.get(result.customerId), response));
+        }
+        response.documents = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            DocumentLookupRequest document = documents.get(i);
+            CustomerLookupResult result = new CustomerLookupResult();
+            result.index = i;
+            result.documentType = document.documentType;
+            result.documentId = document.documentId;
+            CustomerView view = byDocument.get(new CustomerDocumentKey(document.documentType, document.documentId));
+            response.documents.add(resolve(result, view, response));
+        }
+        return response;
+    }
+
+    private CustomerLookupResult resolve(CustomerLookupResult result, CustomerView view,
+                                         CustomerLookupResponse response) {
+        if (view == null) {
+            response.notFoundCount++;
+            return result;
+        }
+        result.found = true;
+        result.customer = customerMapper.toResponse(view);
+        response.foundCount++;
+        return result;
+    }
+}
@@ -1,28 +1,47 @@
 package com.challengebank.customer.service;
 
+import com.challengebank.customer.cache.CustomerLookupCoalescer;
+import com.challengebank.customer.cache.CustomerLookupCoalescer.Lookup;
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.event.CustomerChangedEvent;
 import com.challengebank.customer.exception.CustomerNotFoundException;
 import com.challengebank.customer.exception.DuplicateCustomerException;
+import com.challengebank.customer.exception.InvalidStatusTransitionException;
+import com.challengebank.customer.exception.PreconditionFailedException;
 import com.challengebank.customer.mapper.CustomerMapper;
 import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateStatusRequest;
+import com.challengebank.customer.model.dto.response.CustomerChangesResponse;
 import com.challengebank.customer.model.dto.response.CustomerPageResponse;
 import com.challengebank.customer.model.dto.response.CustomerResponse;
 import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.CountMode;
+import com.challengebank.customer.model.enums.CustomerChangeType;
 import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerStatusChange;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerConstraints;
+import com.challengebank.customer.repository.CustomerCursor;
 import com.challengebank.customer.repository.CustomerRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.logging.Log;
-import io.quarkus.panache.common.Page;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @ApplicationScoped
 public class CustomerService {
@@ -33,9 +52,30 @@ public class CustomerService {
     @Inject
     CustomerMapper customerMapper;
 
+    @Inject
+    CustomerCountService customerCountService;
+
+    @Inject
+    CustomerNotFoundCache notFoundCache;
+
+    @Inject
+    CustomerLookupCoalescer lookupCoalescer;
+
+    @Inject
+    Event<CustomerChangedEvent> customerChangedEvent;
+
     @Inject
     MeterRegistry meterRegistry;
 
+    @ConfigProperty(name = "customer.pagination.default-count-mode", defaultValue = "EXACT")
+    CountMode defaultCountMode;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @ConfigProperty(name = "customer.changes.settle-time", defaultValue = "5s")
+    Duration changesSettleTime;
+
     Counter successCounter;
     Counter failureCounter;
 
@@ -47,61 +87,158 @@ public class CustomerService {
 
     @Transactional
     public CustomerResponse createCustomer(CreateCustomerRequest request) {
-        if (customerRepository.existsByDocumentTypeAndDocumentId(request.documentType, request.documentId)) {
-            failureCounter.increment();
-            throw new DuplicateCustomerException(
-                    "Customer with document " + request.documentType + ":" + request.documentId + " already exists");
-        }
-        if (customerRepository.existsByEmail(request.email)) {
+        Customer customer = customerMapper.toEntity(request);
+        try {
+            customerRepository.persistAndFlush(customer);
+        } catch (PersistenceException e) {
             failureCounter.increment();
-            throw new DuplicateCustomerException("Customer with email " + request.email + " already exists");
+            throw toDuplicateException(e, request);
         }
-
-        Customer customer = customerMapper.toEntity(request);
-        customerRepository.persist(customer);
+        customerChangedEvent.fire(CustomerChangedEvent.of(CustomerChangeType.CREATED, customer, null));
         successCounter.increment();
         Log.infof("Customer created: %s", customer.customerId);
         return customerMapper.toResponse(customer);
     }
 
-    public CustomerPageResponse getAllCustomers(int page, int size, CustomerStatus status) {
-        PanacheQuery<Customer> query;
-        if (status != null) {
-            query = customerRepository.findByStatus(status);
-        } else {
-            query = customerRepository.findAll();
+    private RuntimeException toDuplicateException(PersistenceException e, CreateCustomerRequest request) {
+        String constraint = CustomerConstraints.violatedUniqueConstraint(e).orElse(null);
+        if (CustomerConstraints.DOCUMENT.equals(constraint)) {
+            return new DuplicateCustomerException("documentId",
+                    "Customer with document " + request.documentType + ":" + request.documentId + " already exists");
+        }
+        if (CustomerConstraints.EMAIL.equals(constraint)) {
+            return new DuplicateCustomerException("email", "Customer with email " + request.email + " already exists");
+        }
+        return e;
+    }
+
+    public CustomerPageResponse getAllCustomers(int page, int size, CustomerStatus status, CountMode countMode) {
+        List<CustomerView> customers = customerRepository.findPage(status, page * size, size + 1);
+        boolean hasNext = customers.size() > size;
+        if (hasNext) {
+            customers = customers.subList(0, size);
+        }
+        CountMode mode = countMode != null ? countMode : defaultCountMode;
+        Long total = mode == CountMode.NONE ? null : customerCountService.count(mode, status);
+        return customerMapper.toPageResponse(customers, page, size, total, hasNext);
+    }
+
+    public CustomerPageResponse getCustomersByCursor(String cursor, int size, CustomerStatus status) {
+        CustomerCursor after = cursor == null || cursor.isBlank() ? null : CustomerCursor.decode(cursor);
+        List<CustomerView> customers = customerRepository.findPageAfter(status, after, size + 1);
+        String nextCursor = null;
+        if (customers.size() > size) {
+            customers = customers.subList(0, size);
+            CustomerView last = customers.get(size - 1);
+            nextCursor = new CustomerCursor(last.createdAt(), last.customerId()).encode();
+        }
+        return customerMapper.toCursorPageResponse(customers, size, after != null ? cursor : null, nextCursor);
+    }
+
+    // The watermark is the (updatedAt, customerId) of the last row served, so rows sharing a timestamp are never
+    // skipped. updatedAt is assigned before commit, so rows are only served once they are older than every
+    // open write transaction and the settle time (which also absorbs clock skew between replicas).
+    public CustomerChangesResponse getChanges(String since, int limit) {
+        CustomerCursor after = since == null || since.isBlank() ? null : CustomerCursor.decode(since);
+        List<CustomerView> changes = customerRepository.findChangedAfter(after, changesUpperBound(), limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        String current = after != null ? since : null;
+        String nextWatermark = current;
+        if (!changes.isEmpty()) {
+            CustomerView last = changes.get(changes.size() - 1);
+            nextWatermark = new CustomerCursor(last.updatedAt(), last.customerId()).encode();
         }
-        List<Customer> customers = query.page(Page.of(page, size)).list();
-        long total = query.count();
-        return customerMapper.toPageResponse(customers, page, size, total);
+        return customerMapper.toChangesResponse(changes, current, nextWatermark, hasMore);
+    }
+
+    // Every change at or before this instant has committed: also the watermark of status index snapshots.
+    public LocalDateTime changesUpperBound() {
+        LocalDateTime bound = LocalDateTime.now();
+        if ("postgresql".equals(dbKind)) {
+            bound = customerRepository.oldestWriteTransactionStart().filter(bound::isAfter).orElse(bound);
+        }
+        return bound.minus(changesSettleTime);
     }
 
     public CustomerResponse getCustomerById(UUID customerId) {
-        Customer customer = customerRepository.findByIdOptional(customerId)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + customerId));
-        return customerMapper.toResponse(customer);
+        return customerMapper.toResponse(requireById(customerId, Lookup.VIEW_BY_ID, customerRepository::findViewById));
     }
 
     public CustomerResponse getCustomerByDocument(String documentId) {
-        Customer customer = customerRepository.findByDocumentId(documentId)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with document: " + documentId));
-        return customerMapper.toResponse(customer);
+        return customerMapper.toResponse(
+                requireByDocument(documentId, Lookup.VIEW_BY_DOCUMENT, customerRepository::findViewByDocumentId));
+    }
+
+    // Version-only lookups back conditional GETs: a matching If-None-Match needs no row materialised.
+    public long getVersionById(UUID customerId) {
+        return requireById(customerId, Lookup.VERSION_BY_ID, customerRepository::findVersionById);
+    }
+
+    public long getVersionByDocument(String documentId) {
+        return requireByDocument(documentId, Lookup.VERSION_BY_DOCUMENT, customerRepository::findVersionByDocumentId);
+    }
+
+    // A recent miss is answered from the not-found cache without a query; concurrent identical lookups share one.
+    private <T> T requireById(UUID customerId, Lookup kind, Function<UUID, Optional<T>> lookup) {
+        if (!notFoundCache.isMissingById(customerId)) {
+            long missStamp = notFoundCache.beginLoad();
+            Optional<T> found = lookupCoalescer.load(kind, customerId, () -> lookup.apply(customerId));
+            if (found.isPresent()) {
+                return found.get();
+            }
+            notFoundCache.putMissingById(customerId, missStamp);
+        }
+        throw new CustomerNotFoundException("Customer not found: " + customerId);
+    }
+
+    private <T> T requireByDocument(String documentId, Lookup kind, Function<String, Optional<T>> lookup) {
+        if (!notFoundCache.isMissingByDocument(documentId)) {
+            long missStamp = notFoundCache.beginLoad();
+            Optional<T> found = lookupCoalescer.load(kind, documentId, () -> lookup.apply(documentId));
+            if (found.isPresent()) {
+                return found.get();
+            }
+            notFoundCache.putMissingByDocument(documentId, missStamp);
+        }
+        throw new CustomerNotFoundException("Customer not found with document: " + documentId);
     }
 
     @Transactional
     public CustomerResponse updateCustomer(UUID customerId, UpdateCustomerRequest request) {
+        return updateCustomer(customerId, request, null);
+    }
+
+    // expectedVersion comes from If-Match; null skips the check. @Version still rejects a concurrent
+    // writer that commits between this check and the flush.
+    @Transactional
+    public CustomerResponse updateCustomer(UUID customerId, UpdateCustomerRequest request, Long expectedVersion) {
         Customer customer = customerRepository.findByIdOptional(customerId)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + customerId));
+        checkVersion(customer, expectedVersion);
 
         if (request.email != null && !request.email.equals(customer.email)) {
             if (customerRepository.existsByEmail(request.email)) {
                 failureCounter.increment();
-                throw new DuplicateCustomerException("Email already in use: " + request.email);
+                throw new DuplicateCustomerException("email", "Email already in use: " + request.email);
             }
         }
 
         customerMapper.updateEntity(customer, request);
-        customerRepository.persist(customer);
+        // Flushed so the response carries the incremented version. The email constraint catches a concurrent
+        // update that took the email after the check above.
+        try {
+            customerRepository.persistAndFlush(customer);
+        } catch (PersistenceException e) {
+            if (!CustomerConstraints.EMAIL.equals(CustomerConstraints.violatedUniqueConstraint(e).orElse(null))) {
+                throw e;
+            }
+            failureCounter.increment();
+            throw new DuplicateCustomerException("email", "Email already in use: " + request.email);
+        }
+        customerChangedEvent.fire(CustomerChangedEvent.of(CustomerChangeType.UPDATED, customer, customer.status));
         successCounter.increment();
         Log.infof("Customer updated: %s", customerId);
         return customerMapper.toResponse(customer);
@@ -109,22 +246,63 @@ public class CustomerService {
 
     @Transactional
     public void deleteCustomer(UUID customerId) {
-        Customer customer = customerRepository.findByIdOptional(customerId)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + customerId));
-        customer.status = CustomerStatus.INACTIVE;
-        customerRepository.persist(customer);
+        CustomerStatusChange change = changeStatus(customerId, CustomerStatus.INACTIVE, null);
+        if (change.changed()) {
+            customerChangedEvent.fire(CustomerChangedEvent.of(
+                    CustomerChangeType.DELETED, change.customer(), change.previousStatus()));
+        }
         successCounter.increment();
         Log.infof("Customer soft-deleted: %s", customerId);
     }
 
     @Transactional
     public CustomerResponse updateCustomerStatus(UUID customerId, UpdateStatusRequest request) {
-        Customer customer = customerRepository.findByIdOptional(customerId)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + customerId));
-        customer.status = request.status;
-        customerRepository.persist(customer);
+        return updateCustomerStatus(customerId, request, null);
+    }
+
+    @Transactional
+    public CustomerResponse updateCustomerStatus(UUID customerId, UpdateStatusRequest request, Long expectedVersion) {
+        CustomerStatusChange change = changeStatus(customerId, request.status, expectedVersion);
+        if (change.changed()) {
+            customerChangedEvent.fire(CustomerChangedEvent.of(
+                    CustomerChangeType.STATUS_CHANGED, change.customer(), change.previousStatus()));
+        }
         successCounter.increment();
         Log.infof("Customer %s status updated to %s. Reason: %s", customerId, request.status, request.reason);
-        return customerMapper.toResponse(customer);
+        return customerMapper.toResponse(change.customer());
+    }
+
+    private CustomerStatusChange changeStatus(UUID customerId, CustomerStatus status, Long expectedVersion) {
+        Set<CustomerStatus> allowed = CustomerStatusTransitions.predecessorsOf(status);
+        // Nothing may move to this status (PENDING); an empty IN () is not valid SQL on PostgreSQL.
+        if (allowed.isEmpty()) {
+            return rejectedStatusChange(customerId, status, expectedVersion);
+        }
+        Optional<CustomerStatusChange> change = "postgresql".equals(dbKind)
+                ? customerRepository.compareAndSetStatus(customerId, status, allowed, expectedVersion)
+                : customerRepository.compareAndSetStatusLocked(customerId, status, allowed, expectedVersion);
+        return change.orElseGet(() -> rejectedStatusChange(customerId, status, expectedVersion));
+    }
+
+    // The conditional update matched no row: the customer is missing, at another version, already in the
+    // target status, or the transition is not allowed.
+    private CustomerStatusChange rejectedStatusChange(UUID customerId, CustomerStatus status, Long expectedVersion) {
+        Customer customer = customerRepository.findByIdOptional(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + customerId));
+        checkVersion(customer, expectedVersion);
+        if (customer.status == status) {
+            return new CustomerStatusChange(customer, status);
+        }
+        failureCounter.increment();
+        throw new InvalidStatusTransitionException(
+                "Cannot change status of customer " + customerId + " from " + customer.status + " to " + status);
+    }
+
+    private void checkVersion(Customer customer, Long expectedVersion) {
+        if (expectedVersion != null && customer.version != expectedVersion) {
+            failureCounter.increment();
+            throw new PreconditionFailedException("Customer " + customer.customerId + " is at version "
+                    + customer.version + ", not " + expectedVersion);
+        }
     }
 }
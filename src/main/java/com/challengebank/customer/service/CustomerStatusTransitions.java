@@ -0,0 +1,37 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.model.enums.CustomerStatus;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+public final class CustomerStatusTransitions {
+
+    private static final Map<CustomerStatus, Set<CustomerStatus>> TARGETS = new EnumMap<>(Map.of(
+            CustomerStatus.PENDING, EnumSet.of(CustomerStatus.ACTIVE, CustomerStatus.INACTIVE),
+            CustomerStatus.ACTIVE, EnumSet.of(CustomerStatus.SUSPENDED, CustomerStatus.INACTIVE),
+            CustomerStatus.SUSPENDED, EnumSet.of(CustomerStatus.ACTIVE, CustomerStatus.INACTIVE),
+            CustomerStatus.INACTIVE, EnumSet.of(CustomerStatus.ACTIVE)));
+
+    private static final Map<CustomerStatus, Set<CustomerStatus>> PREDECESSORS = new EnumMap<>(CustomerStatus.class);
+
+    static {
+        for (CustomerStatus target : CustomerStatus.values()) {
+            PREDECESSORS.put(target, EnumSet.noneOf(CustomerStatus.class));
+        }
+        TARGETS.forEach((from, targets) -> targets.forEach(target -> PREDECESSORS.get(target).add(from)));
+    }
+
+    private CustomerStatusTransitions() {
+    }
+
+    public static boolean isAllowed(CustomerStatus from, CustomerStatus to) {
+        return TARGETS.get(from).contains(to);
+    }
+
+    public static Set<CustomerStatus> predecessorsOf(CustomerStatus target) {
+        return EnumSet.copyOf(PREDECESSORS.get(target));
+    }
+}
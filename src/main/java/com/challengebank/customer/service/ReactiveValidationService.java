@@ -0,0 +1,98 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.cache.CustomerStatusCache;
+import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.ValidationResponse;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerStatusView;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@ApplicationScoped
+@IfBuildProperty(name = "customer.validation.reactive.enabled", stringValue = "true")
+public class ReactiveValidationService {
+
+    static final String FIND_STATUS_BY_ID =
+            "SELECT customer_id, document_id, status FROM customers WHERE customer_id = $1";
+    static final String FIND_STATUS_BY_DOCUMENT =
+            "SELECT customer_id, document_id, status FROM customers WHERE document_id = $1 LIMIT 1";
+
+    @Inject
+    PgPool client;
+
+    @Inject
+    CustomerStatusCache statusCache;
+
+    @Inject
+    CustomerNotFoundCache notFoundCache;
+
+    // Response building and the success/failure counters are shared with the blocking path.
+    @Inject
+    ValidationService validationService;
+
+    public Uni<ValidationResponse> validateCustomer(ValidateCustomerRequest request) {
+        try {
+            validationService.requireIdentifier(request);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        Uni<Optional<CustomerStatusView>> customerOpt = request.customerId != null
+                ? findStatusById(request.customerId)
+                : findStatusByDocument(request.documentId);
+        return customerOpt.map(validationService::buildValidationResponse);
+    }
+
+    public Uni<ValidationResponse> validateCustomerById(UUID customerId) {
+        return findStatusById(customerId).map(validationService::buildValidationResponse);
+    }
+
+    private Uni<Optional<CustomerStatusView>> findStatusById(UUID customerId) {
+        Optional<CustomerStatusView> cached = statusCache.getById(customerId);
+        if (cached.isPresent() || notFoundCache.isMissingById(customerId)) {
+            return Uni.createFrom().item(cached);
+        }
+        long missStamp = notFoundCache.beginLoad();
+        return load(FIND_STATUS_BY_ID, Tuple.of(customerId),
+                () -> notFoundCache.putMissingById(customerId, missStamp));
+    }
+
+    private Uni<Optional<CustomerStatusView>> findStatusByDocument(String documentId) {
+        Optional<CustomerStatusView> cached = statusCache.getByDocument(documentId);
+        if (cached.isPresent() || notFoundCache.isMissingByDocument(documentId)) {
+            return Uni.createFrom().item(cached);
+        }
+        long missStamp = notFoundCache.beginLoad();
+        return load(FIND_STATUS_BY_DOCUMENT, Tuple.of(documentId),
+                () -> notFoundCache.putMissingByDocument(documentId, missStamp));
+    }
+
+    private Uni<Optional<CustomerStatusView>> load(String sql, Tuple params, Runnable onMissing) {
+        long loadStamp = statusCache.beginLoad();
+        return client.preparedQuery(sql).execute(params).map(rows -> {
+            Optional<CustomerStatusView> loaded = firstView(rows);
+            loaded.ifPresentOrElse(view -> statusCache.put(view, loadStamp), onMissing);
+            return loaded;
+        });
+    }
+
+    static Optional<CustomerStatusView> firstView(RowSet<Row> rows) {
+        RowIterator<Row> iterator = rows.iterator();
+        if (!iterator.hasNext()) {
+            return Optional.empty();
+        }
+        Row row = iterator.next();
+        return Optional.of(new CustomerStatusView(row.getUUID("customer_id"), row.getString("document_id"),
+                CustomerStatus.valueOf(row.getString("status"))));
+    }
+}
@@ -1,17 +1,30 @@
 package com.challengebank.customer.service;
 
+import com.challengebank.customer.cache.CustomerLookupCoalescer;
+import com.challengebank.customer.cache.CustomerLookupCoalescer.Lookup;
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.cache.CustomerStatusCache;
+import com.challengebank.customer.cache.CustomerStatusIndex;
 import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BatchValidationResponse;
 import com.challengebank.customer.model.dto.response.ValidationResponse;
-import com.challengebank.customer.model.entity.Customer;
 import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerStatusView;
 import com.challengebank.customer.repository.CustomerRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @ApplicationScoped
@@ -20,9 +33,24 @@ public class ValidationService {
     @Inject
     CustomerRepository customerRepository;
 
+    @Inject
+    CustomerStatusCache statusCache;
+
+    @Inject
+    CustomerStatusIndex statusIndex;
+
+    @Inject
+    CustomerNotFoundCache notFoundCache;
+
+    @Inject
+    CustomerLookupCoalescer lookupCoalescer;
+
     @Inject
     MeterRegistry meterRegistry;
 
+    @ConfigProperty(name = "customer.validation.batch.max-size", defaultValue = "1000")
+    int maxBatchSize;
+
     Counter validationSuccessCounter;
     Counter validationFailureCounter;
 
@@ -33,40 +61,169 @@ public class ValidationService {
     }
 
     public ValidationResponse validateCustomer(ValidateCustomerRequest request) {
-        if (request.customerId == null && (request.documentId == null || request.documentId.isBlank())) {
-            validationFailureCounter.increment();
-            throw new IllegalArgumentException("At least one of customerId or documentId must be provided");
-        }
+        requireIdentifier(request);
 
-        Optional<Customer> customerOpt;
+        Optional<CustomerStatusView> customerOpt;
         if (request.customerId != null) {
-            customerOpt = customerRepository.findByIdOptional(request.customerId);
+            customerOpt = findStatusById(request.customerId);
         } else {
-            customerOpt = customerRepository.findByDocumentId(request.documentId);
+            customerOpt = findStatusByDocument(request.documentId);
         }
 
         return buildValidationResponse(customerOpt);
     }
 
+    // Answered from the primitive status index when it has the customer; a miss goes through the cache and
+    // database and backfills the index.
     public ValidationResponse validateCustomerById(UUID customerId) {
-        Optional<Customer> customerOpt = customerRepository.findByIdOptional(customerId);
+        CustomerStatus indexed = statusIndex.find(customerId);
+        if (indexed != null) {
+            return buildValidationResponse(Optional.of(new CustomerStatusView(customerId, null, indexed)));
+        }
+        long indexStamp = statusIndex.beginLoad();
+        Optional<CustomerStatusView> customerOpt = findStatusById(customerId);
+        customerOpt.ifPresent(view -> statusIndex.putLoaded(view.customerId(), view.status(), indexStamp));
         return buildValidationResponse(customerOpt);
     }
 
-    private ValidationResponse buildValidationResponse(Optional<Customer> customerOpt) {
+    public BatchValidationResponse validateCustomers(List<ValidateCustomerRequest> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item must be provided");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch size " + items.size() + " exceeds the maximum of " + maxBatchSize);
+        }
+
+        Map<UUID, CustomerStatusView> byId = new HashMap<>();
+        Map<String, CustomerStatusView> byDocument = new HashMap<>();
+        Set<UUID> missingIds = new LinkedHashSet<>();
+        Set<String> missingDocuments = new LinkedHashSet<>();
+        for (ValidateCustomerRequest item : items) {
+            if (!hasIdentifier(item)) {
+                continue;
+            }
+            if (item.customerId != null) {
+                statusCache.getById(item.customerId).ifPresentOrElse(
+                        view -> byId.put(item.customerId, view), () -> {
+                            if (!notFoundCache.isMissingById(item.customerId)) {
+                                missingIds.add(item.customerId);
+                            }
+                        });
+            } else {
+                statusCache.getByDocument(item.documentId).ifPresentOrElse(
+                        view -> byDocument.put(item.documentId, view), () -> {
+                            if (!notFoundCache.isMissingByDocument(item.documentId)) {
+                                missingDocuments.add(item.documentId);
+                            }
+                        });
+            }
+        }
+
+        long loadStamp = statusCache.beginLoad();
+        long missStamp = notFoundCache.beginLoad();
+        if (!missingIds.isEmpty()) {
+            for (CustomerStatusView view : customerRepository.findStatusesByIds(missingIds)) {
+                byId.put(view.customerId(), view);
+                statusCache.put(view, loadStamp);
+            }
+            for (UUID customerId : missingIds) {
+                if (!byId.containsKey(customerId)) {
+                    notFoundCache.putMissingById(customerId, missStamp);
+                }
+            }
+        }
+        if (!missingDocuments.isEmpty()) {
+            for (CustomerStatusView view : customerRepository.findStatusesByDocumentIds(missingDocuments)) {
+                if (byDocument.putIfAbsent(view.documentId(), view) == null) {
+                    statusCache.put(view, loadStamp);
+                }
+            }
+            for (String documentId : missingDocuments) {
+                if (!byDocument.containsKey(documentId)) {
+                    notFoundCache.putMissingByDocument(documentId, missStamp);
+                }
+            }
+        }
+
+        BatchValidationResponse response = new BatchValidationResponse();
+        response.results = new ArrayList<>(items.size());
+        for (ValidateCustomerRequest item : items) {
+            ValidationResponse result;
+            if (!hasIdentifier(item)) {
+                validationFailureCounter.increment();
+                result = new ValidationResponse();
+                result.valid = false;
+                result.message = "At least one of customerId or documentId must be provided";
+            } else if (item.customerId != null) {
+                result = buildValidationResponse(Optional.ofNullable(byId.get(item.customerId)));
+            } else {
+                result = buildValidationResponse(Optional.ofNullable(byDocument.get(item.documentId)));
+            }
+            if (result.valid) {
+                response.validCount++;
+            } else {
+                response.invalidCount++;
+            }
+            response.results.add(result);
+        }
+        return response;
+    }
+
+    void requireIdentifier(ValidateCustomerRequest request) {
+        if (!hasIdentifier(request)) {
+            validationFailureCounter.increment();
+            throw new IllegalArgumentException("At least one of customerId or documentId must be provided");
+        }
+    }
+
+    static boolean hasIdentifier(ValidateCustomerRequest request) {
+        return request != null
+                && (request.customerId != null || (request.documentId != null && !request.documentId.isBlank()));
+    }
+
+    private Optional<CustomerStatusView> findStatusById(UUID customerId) {
+        Optional<CustomerStatusView> cached = statusCache.getById(customerId);
+        if (cached.isPresent() || notFoundCache.isMissingById(customerId)) {
+            return cached;
+        }
+        long loadStamp = statusCache.beginLoad();
+        long missStamp = notFoundCache.beginLoad();
+        Optional<CustomerStatusView> loaded = lookupCoalescer.load(Lookup.STATUS_BY_ID, customerId,
+                () -> customerRepository.findStatusById(customerId));
+        loaded.ifPresentOrElse(view -> statusCache.put(view, loadStamp),
+                () -> notFoundCache.putMissingById(customerId, missStamp));
+        return loaded;
+    }
+
+    private Optional<CustomerStatusView> findStatusByDocument(String documentId) {
+        Optional<CustomerStatusView> cached = statusCache.getByDocument(documentId);
+        if (cached.isPresent() || notFoundCache.isMissingByDocument(documentId)) {
+            return cached;
+        }
+        long loadStamp = statusCache.beginLoad();
+        long missStamp = notFoundCache.beginLoad();
+        Optional<CustomerStatusView> loaded = lookupCoalescer.load(Lookup.STATUS_BY_DOCUMENT, documentId,
+                () -> customerRepository.findStatusByDocumentId(documentId));
+        loaded.ifPresentOrElse(view -> statusCache.put(view, loadStamp),
+                () -> notFoundCache.putMissingByDocument(documentId, missStamp));
+        return loaded;
+    }
+
+    ValidationResponse buildValidationResponse(Optional<CustomerStatusView> customerOpt) {
         ValidationResponse response = new ValidationResponse();
         if (customerOpt.isEmpty()) {
             response.valid = false;
             response.message = "Customer not found";
             validationFailureCounter.increment();
         } else {
-            Customer customer = customerOpt.get();
-            response.customerId = customer.customerId;
-            response.status = customer.status;
-            response.valid = customer.status == CustomerStatus.ACTIVE;
+            CustomerStatusView customer = customerOpt.get();
+            response.customerId = customer.customerId();
+            response.status = customer.status();
+            response.valid = customer.status() == CustomerStatus.ACTIVE;
             response.message = response.valid
                     ? "Customer is active and valid"
-                    : "Customer exists but is not active (status: " + customer.status + ")";
+                    : "Customer exists but is not active (status: " + customer.status() + ")";
             if (response.valid) {
                 validationSuccessCounter.increment();
             } else {
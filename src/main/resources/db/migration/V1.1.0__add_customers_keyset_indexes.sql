@@ -0,0 +1,2 @@
+CREATE INDEX idx_customers_created_at_id ON customers (created_at, customer_id);
+CREATE INDEX idx_customers_status_created_at_id ON customers (status, created_at, customer_id);
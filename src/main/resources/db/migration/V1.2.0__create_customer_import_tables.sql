@@ -0,0 +1,22 @@
+CREATE TABLE customer_imports (
+    import_id     UUID PRIMARY KEY,
+    format        VARCHAR(10)   NOT NULL,
+    status        VARCHAR(10)   NOT NULL,
+    total_rows    BIGINT        NOT NULL DEFAULT 0,
+    imported_rows BIGINT        NOT NULL DEFAULT 0,
+    rejected_rows BIGINT        NOT NULL DEFAULT 0,
+    error         VARCHAR(1000),
+    created_at    TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at   TIMESTAMP,
+
+    CONSTRAINT chk_customer_imports_format CHECK (format IN ('CSV', 'NDJSON')),
+    CONSTRAINT chk_customer_imports_status CHECK (status IN ('LOADING', 'VALIDATING', 'MERGING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE TABLE customer_import_rejections (
+    import_id UUID         NOT NULL REFERENCES customer_imports (import_id) ON DELETE CASCADE,
+    line_no   BIGINT       NOT NULL,
+    reason    VARCHAR(200) NOT NULL,
+
+    CONSTRAINT pk_customer_import_rejections PRIMARY KEY (import_id, line_no)
+);
@@ -0,0 +1,5 @@
+UPDATE customers SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE customers ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE customers ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_customers_updated_at_id ON customers (updated_at, customer_id);
@@ -0,0 +1,12 @@
+CREATE SEQUENCE customer_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE customer_outbox (
+    event_id        BIGINT       PRIMARY KEY,
+    type            VARCHAR(20)  NOT NULL,
+    customer_id     UUID         NOT NULL,
+    document_type   VARCHAR(10),
+    document_id     VARCHAR(20),
+    previous_status VARCHAR(10),
+    status          VARCHAR(10),
+    occurred_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
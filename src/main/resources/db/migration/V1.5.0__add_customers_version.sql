@@ -0,0 +1 @@
+ALTER TABLE customers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+ALTER TABLE customer_imports ADD COLUMN heartbeat_at TIMESTAMP;
+
+CREATE INDEX idx_customer_imports_unfinished ON customer_imports (created_at)
+    WHERE status IN ('LOADING', 'VALIDATING', 'MERGING');
@@ -0,0 +1 @@
+ALTER TABLE customer_outbox ADD COLUMN customer_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,189 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.cache.CustomerLookupCoalescer.Lookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerLookupCoalescerTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    private CustomerLookupCoalescer coalescer;
+    private SimpleMeterRegistry meterRegistry;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> threads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new CustomerLookupCoalescer();
+        coalescer.meterRegistry = meterRegistry;
+        coalescer.enabled = true;
+        coalescer.maxWait = Duration.ofSeconds(10);
+        coalescer.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+    }
+
+    private double calls(Lookup lookup, String result) {
+        return meterRegistry.get("customer.lookup.calls")
+                .tag("lookup", lookup.tag).tag("result", result).counter().count();
+    }
+
+    // Starts a leader whose query blocks until release is counted down.
+    private CompletableFuture<Optional<String>> startLeader(AtomicInteger queries) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        threads.add(Thread.ofPlatform().start(() -> result.complete(
+                coalescer.load(Lookup.STATUS_BY_ID, CUSTOMER_ID, () -> {
+                    queries.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return Optional.of("leader");
+                }))));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private CompletableFuture<Optional<String>> startFollower(AtomicInteger queries) {
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        threads.add(Thread.ofPlatform().start(() -> {
+            try {
+                result.complete(coalescer.load(Lookup.STATUS_BY_ID, CUSTOMER_ID, () -> {
+                    queries.incrementAndGet();
+                    return Optional.of("follower");
+                }));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    private void awaitWaiting(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.stream().skip(1).filter(t -> t.getState() == Thread.State.TIMED_WAITING).count() < followers) {
+            assertTrue(System.nanoTime() < deadline, "followers did not start waiting");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testLoad_concurrentIdenticalKeys_shareOneQuery() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        CompletableFuture<Optional<String>> leader = startLeader(queries);
+        List<CompletableFuture<Optional<String>>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(startFollower(queries));
+        }
+        awaitWaiting(5);
+
+        release.countDown();
+
+        assertEquals(Optional.of("leader"), leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<Optional<String>> follower : followers) {
+            assertEquals(Optional.of("leader"), follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1.0, calls(Lookup.STATUS_BY_ID, "executed"));
+        assertEquals(5.0, calls(Lookup.STATUS_BY_ID, "coalesced"));
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void testLoad_differentLookupOrKey_notShared() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        startLeader(queries);
+
+        assertEquals("other-key", coalescer.load(Lookup.STATUS_BY_ID, UUID.randomUUID(), () -> "other-key"));
+        assertEquals("other-lookup", coalescer.load(Lookup.VIEW_BY_ID, CUSTOMER_ID, () -> "other-lookup"));
+        assertEquals(0.0, calls(Lookup.STATUS_BY_ID, "coalesced"));
+    }
+
+    @Test
+    void testLoad_leaderTooSlow_followerQueriesItself() throws Exception {
+        coalescer.maxWait = Duration.ofMillis(20);
+        AtomicInteger queries = new AtomicInteger();
+        startLeader(queries);
+
+        assertEquals(Optional.of("follower"), startFollower(queries).get(5, TimeUnit.SECONDS));
+        assertEquals(2, queries.get());
+        assertEquals(1.0, calls(Lookup.STATUS_BY_ID, "timed-out"));
+    }
+
+    @Test
+    void testLoad_leaderFails_followersGetTheFailure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        threads.add(Thread.ofPlatform().start(() -> {
+            try {
+                coalescer.load(Lookup.STATUS_BY_ID, CUSTOMER_ID, () -> {
+                    started.countDown();
+                    await(release);
+                    throw new IllegalStateException("connection lost");
+                });
+            } catch (IllegalStateException expected) {
+                // the leader sees its own failure
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<String>> follower = startFollower(new AtomicInteger());
+        awaitWaiting(1);
+
+        release.countDown();
+
+        Exception e = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertEquals("connection lost", e.getCause().getMessage());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void testForget_laterCallersDoNotJoinEarlierQuery() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        startLeader(queries);
+
+        coalescer.forget(CUSTOMER_ID, null);
+
+        assertEquals(Optional.of("follower"), startFollower(queries).get(5, TimeUnit.SECONDS));
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void testLoad_disabled_runsEveryQuery() throws Exception {
+        coalescer.enabled = false;
+        coalescer.maxWait = Duration.ofMillis(20);
+        AtomicInteger queries = new AtomicInteger();
+        startLeader(queries);
+
+        assertEquals(Optional.of("follower"), startFollower(queries).get(5, TimeUnit.SECONDS));
+        assertEquals(2, queries.get());
+        assertEquals(0.0, calls(Lookup.STATUS_BY_ID, "timed-out"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerNotFoundCacheTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final String DOCUMENT_ID = "12345678";
+
+    private CustomerNotFoundCache cache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CustomerNotFoundCache();
+        cache.meterRegistry = meterRegistry;
+        cache.enabled = true;
+        cache.maximumSize = 100;
+        cache.expireAfterWrite = Duration.ofSeconds(30);
+        cache.init();
+    }
+
+    private void putBoth() {
+        long stamp = cache.beginLoad();
+        cache.putMissingById(CUSTOMER_ID, stamp);
+        cache.putMissingByDocument(DOCUMENT_ID, stamp);
+    }
+
+    @Test
+    void testPutMissing_remembersIdAndDocument() {
+        putBoth();
+
+        assertTrue(cache.isMissingById(CUSTOMER_ID));
+        assertTrue(cache.isMissingByDocument(DOCUMENT_ID));
+        assertFalse(cache.isMissingById(UUID.randomUUID()));
+    }
+
+    @Test
+    void testPutMissing_afterConcurrentCreation_isDiscarded() {
+        long stamp = cache.beginLoad();
+        cache.evict(UUID.randomUUID(), "other");
+
+        cache.putMissingById(CUSTOMER_ID, stamp);
+        cache.putMissingByDocument(DOCUMENT_ID, stamp);
+
+        assertFalse(cache.isMissingById(CUSTOMER_ID));
+        assertFalse(cache.isMissingByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testCreated_evictsItsKeys() {
+        putBoth();
+
+        cache.onCustomerChanged(new CustomerChangedEvent(CustomerChangeType.CREATED, CUSTOMER_ID,
+                DocumentType.DNI, DOCUMENT_ID, "john@example.com", null, CustomerStatus.PENDING, 0L));
+
+        assertFalse(cache.isMissingById(CUSTOMER_ID));
+        assertFalse(cache.isMissingByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testStatusChange_keepsMisses() {
+        putBoth();
+
+        cache.afterCustomerChanged(new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, UUID.randomUUID(),
+                DocumentType.DNI, "87654321", "jane@example.com", CustomerStatus.PENDING, CustomerStatus.ACTIVE, 0L));
+
+        assertTrue(cache.isMissingById(CUSTOMER_ID));
+        assertTrue(cache.isMissingByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testCreatedNotification_evictsItsKeys() {
+        putBoth();
+
+        cache.onCustomerChangeNotification(new CustomerChangeNotification(CUSTOMER_ID, DOCUMENT_ID, false,
+                CustomerChangeType.CREATED, null, CustomerStatus.PENDING, LocalDateTime.now()));
+
+        assertFalse(cache.isMissingById(CUSTOMER_ID));
+        assertFalse(cache.isMissingByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testResyncNotification_evictsEverything() {
+        putBoth();
+
+        cache.onCustomerChangeNotification(CustomerChangeNotification.resyncAll());
+
+        assertFalse(cache.isMissingById(CUSTOMER_ID));
+        assertFalse(cache.isMissingByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testDisabled_remembersNothing() {
+        cache.enabled = false;
+
+        putBoth();
+
+        assertFalse(cache.isMissingById(CUSTOMER_ID));
+        assertFalse(cache.isMissingByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testHits_reportedApartFromValidationCache() {
+        putBoth();
+        cache.isMissingById(CUSTOMER_ID);
+        cache.isMissingById(UUID.randomUUID());
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "customer.not-found.by-id").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "customer.not-found.by-id").tag("result", "miss").functionCounter().count());
+    }
+}
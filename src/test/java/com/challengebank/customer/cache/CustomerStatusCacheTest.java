@@ -0,0 +1,133 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.projection.CustomerStatusView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerStatusCacheTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final String DOCUMENT_ID = "12345678";
+
+    private CustomerStatusCache cache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CustomerStatusCache();
+        cache.meterRegistry = meterRegistry;
+        cache.enabled = true;
+        cache.maximumSize = 100;
+        cache.expireAfterWrite = Duration.ofMinutes(5);
+        cache.init();
+    }
+
+    private CustomerStatusView activeView() {
+        return new CustomerStatusView(CUSTOMER_ID, DOCUMENT_ID, CustomerStatus.ACTIVE);
+    }
+
+    @Test
+    void testPut_indexesByIdAndDocument() {
+        cache.put(activeView(), cache.beginLoad());
+
+        assertEquals(Optional.of(activeView()), cache.getById(CUSTOMER_ID));
+        assertEquals(Optional.of(activeView()), cache.getByDocument(DOCUMENT_ID));
+    }
+
+    @Test
+    void testPut_afterConcurrentEviction_isDiscarded() {
+        long stamp = cache.beginLoad();
+        cache.evict(UUID.randomUUID(), "other");
+
+        cache.put(activeView(), stamp);
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+        assertTrue(cache.getByDocument(DOCUMENT_ID).isEmpty());
+    }
+
+    @Test
+    void testStatusChangeEvent_evictsBothKeys() {
+        cache.put(activeView(), cache.beginLoad());
+
+        cache.onCustomerChanged(new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, CUSTOMER_ID,
+                DocumentType.DNI, DOCUMENT_ID, "john@test.com", CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED, 0L));
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+        assertTrue(cache.getByDocument(DOCUMENT_ID).isEmpty());
+    }
+
+    @Test
+    void testAfterCompletionEvent_evictsEntryLoadedDuringTransaction() {
+        cache.put(activeView(), cache.beginLoad());
+
+        cache.afterCustomerChanged(new CustomerChangedEvent(CustomerChangeType.DELETED, CUSTOMER_ID,
+                DocumentType.DNI, DOCUMENT_ID, "john@test.com", CustomerStatus.ACTIVE, CustomerStatus.INACTIVE, 0L));
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+    }
+
+    @Test
+    void testRemoteNotification_evictsEntry() {
+        cache.put(activeView(), cache.beginLoad());
+
+        cache.onCustomerChangeNotification(new CustomerChangeNotification(CUSTOMER_ID, DOCUMENT_ID, false));
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+        assertTrue(cache.getByDocument(DOCUMENT_ID).isEmpty());
+    }
+
+    @Test
+    void testResyncNotification_flushesEverything() {
+        cache.put(activeView(), cache.beginLoad());
+        cache.put(new CustomerStatusView(UUID.randomUUID(), "87654321", CustomerStatus.PENDING), cache.beginLoad());
+
+        cache.onCustomerChangeNotification(CustomerChangeNotification.resyncAll());
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+        assertTrue(cache.getByDocument("87654321").isEmpty());
+    }
+
+    @Test
+    void testEvictAll() {
+        cache.put(activeView(), cache.beginLoad());
+
+        cache.evictAll();
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+        assertTrue(cache.getByDocument(DOCUMENT_ID).isEmpty());
+    }
+
+    @Test
+    void testDisabled_neverReturnsEntries() {
+        cache.enabled = false;
+
+        cache.put(activeView(), cache.beginLoad());
+
+        assertTrue(cache.getById(CUSTOMER_ID).isEmpty());
+    }
+
+    @Test
+    void testMetrics_recordHitsAndMisses() {
+        cache.getById(CUSTOMER_ID);
+        cache.put(activeView(), cache.beginLoad());
+        cache.getById(CUSTOMER_ID);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "customer.validation.by-id")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "customer.validation.by-id")
+                .tag("result", "miss").functionCounter().count());
+    }
+}
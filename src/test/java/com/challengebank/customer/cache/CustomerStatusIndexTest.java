@@ -0,0 +1,276 @@
+package com.challengebank.customer.cache;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.messaging.CustomerChangeListener;
+import com.challengebank.customer.messaging.CustomerChangeNotification;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerStatusView;
+import com.challengebank.customer.repository.CustomerRepository;
+import com.challengebank.customer.service.CustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class CustomerStatusIndexTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    private CustomerStatusIndex index;
+    private CustomerRepository customerRepository;
+    private CustomerService customerService;
+    private CustomerChangeListener changeListener;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        customerService = mock(CustomerService.class);
+        changeListener = mock(CustomerChangeListener.class);
+        index = new CustomerStatusIndex();
+        index.customerRepository = customerRepository;
+        index.meterRegistry = new SimpleMeterRegistry();
+        index.enabled = true;
+        index.initialCapacity = 4;
+        index.fetchSize = 100;
+        index.snapshotPath = Optional.empty();
+        index.maxCatchUp = 10;
+        index.customerService = customerService;
+        index.changeListener = changeListener;
+        index.init();
+    }
+
+    @Test
+    void testFind_unknownCustomer_returnsNull() {
+        assertNull(index.find(CUSTOMER_ID));
+    }
+
+    @Test
+    void testAfterCustomerChanged_storesCommittedStatus() {
+        index.afterCustomerChanged(new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, CUSTOMER_ID,
+                null, "12345678", null, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED, 0L));
+
+        assertEquals(CustomerStatus.SUSPENDED, index.find(CUSTOMER_ID));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testPut_beyondInitialCapacity_growsAndKeepsEveryEntry() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = i % 2 == 0 ? UUID.randomUUID() : new UUID(0, i);
+            ids.add(id);
+            index.put(id, CustomerStatus.values()[i % CustomerStatus.values().length]);
+        }
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(CustomerStatus.values()[i % CustomerStatus.values().length], index.find(ids.get(i)));
+        }
+    }
+
+    @Test
+    void testPutLoaded_afterConcurrentWrite_isDiscarded() {
+        long stamp = index.beginLoad();
+        index.put(UUID.randomUUID(), CustomerStatus.ACTIVE);
+
+        index.putLoaded(CUSTOMER_ID, CustomerStatus.ACTIVE, stamp);
+
+        assertNull(index.find(CUSTOMER_ID));
+    }
+
+    @Test
+    void testPutIfAbsent_doesNotOverwriteNewerWrite() {
+        index.put(CUSTOMER_ID, CustomerStatus.INACTIVE);
+
+        index.putIfAbsent(CUSTOMER_ID, CustomerStatus.ACTIVE);
+
+        assertEquals(CustomerStatus.INACTIVE, index.find(CUSTOMER_ID));
+    }
+
+    @Test
+    void testStatusChangeNotification_marksEntryStaleUntilReloaded() {
+        index.put(CUSTOMER_ID, CustomerStatus.ACTIVE);
+
+        index.onCustomerChangeNotification(new CustomerChangeNotification(CUSTOMER_ID, "12345678", false,
+                CustomerChangeType.STATUS_CHANGED, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED,
+                LocalDateTime.now()));
+
+        assertNull(index.find(CUSTOMER_ID));
+        index.putIfAbsent(CUSTOMER_ID, CustomerStatus.ACTIVE);
+        assertNull(index.find(CUSTOMER_ID));
+        index.putLoaded(CUSTOMER_ID, CustomerStatus.SUSPENDED, index.beginLoad());
+        assertEquals(CustomerStatus.SUSPENDED, index.find(CUSTOMER_ID));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testUpdateNotification_keepsStatus() {
+        index.put(CUSTOMER_ID, CustomerStatus.ACTIVE);
+
+        index.onCustomerChangeNotification(new CustomerChangeNotification(CUSTOMER_ID, "12345678", false,
+                CustomerChangeType.UPDATED, CustomerStatus.ACTIVE, CustomerStatus.ACTIVE, LocalDateTime.now()));
+
+        assertEquals(CustomerStatus.ACTIVE, index.find(CUSTOMER_ID));
+    }
+
+    @Test
+    void testLoad_streamsEveryCustomer() {
+        UUID other = UUID.randomUUID();
+        index.put(CUSTOMER_ID, CustomerStatus.PENDING);
+        when(customerRepository.forEachStatus(isNull(), anyInt(), any())).thenAnswer(invocation -> {
+            Predicate<CustomerStatusView> action = invocation.getArgument(2);
+            action.test(new CustomerStatusView(CUSTOMER_ID, "12345678", CustomerStatus.ACTIVE));
+            action.test(new CustomerStatusView(other, "87654321", CustomerStatus.INACTIVE));
+            return 2L;
+        });
+
+        index.load(0);
+
+        assertEquals(CustomerStatus.ACTIVE, index.find(CUSTOMER_ID));
+        assertEquals(CustomerStatus.INACTIVE, index.find(other));
+        assertEquals(2, index.size());
+        verify(customerRepository).forEachStatus(isNull(), eq(100), any());
+    }
+
+    @Test
+    void testStatusChangeNotification_forUnknownCustomer_blocksOlderLoadedStatus() {
+        index.onCustomerChangeNotification(new CustomerChangeNotification(CUSTOMER_ID, "12345678", false,
+                CustomerChangeType.STATUS_CHANGED, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED,
+                LocalDateTime.now()));
+
+        index.putIfAbsent(CUSTOMER_ID, CustomerStatus.ACTIVE);
+
+        assertNull(index.find(CUSTOMER_ID));
+    }
+
+    @Test
+    void testSnapshot_writtenWithPreviousRunWatermark_restoresAndCatchesUp() {
+        UUID unchanged = UUID.randomUUID();
+        UUID changed = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        LocalDateTime watermark = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(customerRepository.forEachStatus(isNull(), anyInt(), any())).thenReturn(0L);
+        index.load(0);
+        index.snapshotPath = Optional.of(tempDir.resolve("status-index.bin").toString());
+        index.put(unchanged, CustomerStatus.ACTIVE);
+        index.put(changed, CustomerStatus.ACTIVE);
+        index.markStale(stale);
+        when(customerService.changesUpperBound()).thenReturn(watermark, watermark.plusMinutes(10));
+
+        index.writeSnapshot();
+        assertFalse(Files.exists(tempDir.resolve("status-index.bin")));
+        index.writeSnapshot();
+        assertTrue(Files.exists(tempDir.resolve("status-index.bin")));
+
+        when(customerRepository.forEachStatus(eq(watermark), anyInt(), any())).thenAnswer(invocation -> {
+            Predicate<CustomerStatusView> action = invocation.getArgument(2);
+            action.test(new CustomerStatusView(changed, "12345678", CustomerStatus.SUSPENDED));
+            return 1L;
+        });
+        index.load(0);
+
+        assertEquals(CustomerStatus.ACTIVE, index.find(unchanged));
+        assertEquals(CustomerStatus.SUSPENDED, index.find(changed));
+        assertNull(index.find(stale));
+        assertEquals(2, index.size());
+        verify(customerRepository, times(1)).forEachStatus(isNull(), anyInt(), any());
+    }
+
+    @Test
+    void testSnapshot_listenerReconnectedOrDown_notWrittenForThatInterval() {
+        LocalDateTime watermark = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(customerRepository.forEachStatus(isNull(), anyInt(), any())).thenReturn(0L);
+        index.load(0);
+        Path file = tempDir.resolve("status-index.bin");
+        index.snapshotPath = Optional.of(file.toString());
+        index.put(CUSTOMER_ID, CustomerStatus.ACTIVE);
+        when(customerService.changesUpperBound()).thenReturn(watermark);
+
+        when(changeListener.currentSession()).thenReturn(1L);
+        index.writeSnapshot();
+        when(changeListener.currentSession()).thenReturn(-1L);
+        index.writeSnapshot();
+        when(changeListener.currentSession()).thenReturn(2L);
+        index.writeSnapshot();
+        assertFalse(Files.exists(file));
+
+        index.writeSnapshot();
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void testLoad_snapshot_servedDuringCatchUpWithoutOverwritingLiveWrites() throws Exception {
+        UUID fromSnapshot = UUID.randomUUID();
+        LocalDateTime watermark = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Path file = tempDir.resolve("status-index.bin");
+        index.snapshotPath = Optional.of(file.toString());
+        CustomerStatusSnapshot.write(file, watermark, consumer -> {
+            consumer.accept(fromSnapshot.getMostSignificantBits(), fromSnapshot.getLeastSignificantBits(), (byte) 1);
+            consumer.accept(CUSTOMER_ID.getMostSignificantBits(), CUSTOMER_ID.getLeastSignificantBits(), (byte) 1);
+        });
+        List<CustomerStatus> seenDuringCatchUp = new ArrayList<>();
+        when(customerRepository.forEachStatus(eq(watermark), anyInt(), any())).thenAnswer(invocation -> {
+            seenDuringCatchUp.add(index.find(fromSnapshot));
+            index.put(CUSTOMER_ID, CustomerStatus.SUSPENDED);
+            Predicate<CustomerStatusView> action = invocation.getArgument(2);
+            action.test(new CustomerStatusView(CUSTOMER_ID, "12345678", CustomerStatus.INACTIVE));
+            return 1L;
+        });
+
+        index.load(0);
+
+        assertEquals(List.of(CustomerStatus.values()[0]), seenDuringCatchUp);
+        assertEquals(CustomerStatus.SUSPENDED, index.find(CUSTOMER_ID));
+        verify(customerRepository, never()).forEachStatus(isNull(), anyInt(), any());
+    }
+
+    @Test
+    void testLoad_snapshotTooFarBehind_fallsBackToFullLoad() throws Exception {
+        Path file = tempDir.resolve("status-index.bin");
+        index.snapshotPath = Optional.of(file.toString());
+        CustomerStatusSnapshot.write(file, LocalDateTime.of(2025, 1, 1, 10, 0), consumer -> consumer.accept(1, 2, (byte) 1));
+        when(customerRepository.forEachStatus(any(LocalDateTime.class), anyInt(), any())).thenAnswer(invocation -> {
+            Predicate<CustomerStatusView> action = invocation.getArgument(2);
+            long accepted = 0;
+            while (action.test(new CustomerStatusView(UUID.randomUUID(), null, CustomerStatus.ACTIVE))) {
+                accepted++;
+            }
+            return accepted;
+        });
+        when(customerRepository.forEachStatus(isNull(), anyInt(), any())).thenReturn(0L);
+
+        index.load(0);
+
+        assertNull(index.find(new UUID(1, 2)));
+        assertEquals(0, index.size());
+        verify(customerRepository).forEachStatus(isNull(), anyInt(), any());
+    }
+
+    @Test
+    void testDisabled_answersNothing() {
+        index.enabled = false;
+        index.put(CUSTOMER_ID, CustomerStatus.ACTIVE);
+
+        assertNull(index.find(CUSTOMER_ID));
+    }
+}
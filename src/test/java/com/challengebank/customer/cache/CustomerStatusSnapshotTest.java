@@ -0,0 +1,84 @@
+package com.challengebank.customer.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerStatusSnapshotTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteThenRead_roundTripsEntriesAndWatermark() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+
+        long written = CustomerStatusSnapshot.write(file, WATERMARK, consumer -> {
+            for (int i = 0; i < 10_000; i++) {
+                consumer.accept(i, -i, (byte) (i % 4 + 1));
+            }
+        });
+
+        List<long[]> entries = new ArrayList<>();
+        LocalDateTime watermark = CustomerStatusSnapshot.read(file,
+                w -> (high, low, status) -> entries.add(new long[]{high, low, status}));
+        assertEquals(10_000, written);
+        assertEquals(WATERMARK, watermark);
+        assertEquals(10_000, entries.size());
+        assertArrayEquals(new long[]{9_999, -9_999, 4}, entries.get(9_999));
+        assertEquals(CustomerStatusSnapshot.HEADER_SIZE + 10_000L * CustomerStatusSnapshot.ENTRY_SIZE,
+                Files.size(file));
+        assertFalse(Files.exists(tempDir.resolve("snapshot.bin.tmp")));
+    }
+
+    @Test
+    void testRead_corruptBody_failsBeforeAnyEntry() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+        CustomerStatusSnapshot.write(file, WATERMARK, consumer -> consumer.accept(1, 2, (byte) 1));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(CustomerStatusSnapshot.HEADER_SIZE + 3);
+            raf.write(0x7f);
+        }
+
+        IOException ex = assertThrows(IOException.class, () -> CustomerStatusSnapshot.read(file, w -> {
+            fail("Entries must not be handed out from a corrupt snapshot");
+            return null;
+        }));
+        assertTrue(ex.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void testRead_otherFormatVersion_isRejected() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+        CustomerStatusSnapshot.write(file, WATERMARK, consumer -> consumer.accept(1, 2, (byte) 1));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(4);
+            raf.writeInt(CustomerStatusSnapshot.FORMAT_VERSION + 1);
+        }
+
+        IOException ex = assertThrows(IOException.class, () -> CustomerStatusSnapshot.read(file, w -> null));
+        assertTrue(ex.getMessage().contains("version"));
+    }
+
+    @Test
+    void testRead_truncatedFile_isRejected() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+        CustomerStatusSnapshot.write(file, WATERMARK, consumer -> consumer.accept(1, 2, (byte) 1));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        assertThrows(IOException.class, () -> CustomerStatusSnapshot.read(file, w -> null));
+    }
+}
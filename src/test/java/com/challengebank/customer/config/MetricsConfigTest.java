@@ -0,0 +1,132 @@
+package com.challengebank.customer.config;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    SimpleMeterRegistry meterRegistry;
+
+    MetricsConfig metricsConfig;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsConfig = new MetricsConfig();
+        metricsConfig.meterRegistry = meterRegistry;
+        metricsConfig.customerRepository = customerRepository;
+        when(customerRepository.countGroupedByStatus()).thenReturn(
+                Map.of(CustomerStatus.ACTIVE, 10L, CustomerStatus.PENDING, 2L));
+        when(customerRepository.countGroupedByDocumentType()).thenReturn(Map.of(DocumentType.DNI, 12L));
+        metricsConfig.onStart(null);
+    }
+
+    private double statusGauge(CustomerStatus status) {
+        return meterRegistry.get("customer.status.total").tag("status", status.name()).gauge().value();
+    }
+
+    private static CustomerChangedEvent event(CustomerChangeType type, CustomerStatus previous, CustomerStatus status) {
+        return new CustomerChangedEvent(type, UUID.randomUUID(), DocumentType.PASSPORT, "DOC1", "a@b.com",
+                previous, status, 0L);
+    }
+
+    @Test
+    void testStartup_seedsGaugesFromDatabase() {
+        assertEquals(10.0, meterRegistry.get("customer.active.total").gauge().value());
+        assertEquals(10.0, statusGauge(CustomerStatus.ACTIVE));
+        assertEquals(2.0, statusGauge(CustomerStatus.PENDING));
+        assertEquals(0.0, statusGauge(CustomerStatus.SUSPENDED));
+        assertEquals(12.0, meterRegistry.get("customer.document-type.total").tag("document_type", "DNI").gauge().value());
+    }
+
+    @Test
+    void testScrape_doesNotQueryDatabase() {
+        clearInvocations(customerRepository);
+
+        meterRegistry.get("customer.active.total").gauge().value();
+        statusGauge(CustomerStatus.INACTIVE);
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testCreated_incrementsStatusAndDocumentType() {
+        metricsConfig.onCustomerChanged(event(CustomerChangeType.CREATED, null, CustomerStatus.PENDING));
+
+        assertEquals(3.0, statusGauge(CustomerStatus.PENDING));
+        assertEquals(1.0, meterRegistry.get("customer.document-type.total")
+                .tag("document_type", "PASSPORT").gauge().value());
+    }
+
+    @Test
+    void testStatusChanged_movesBetweenStatuses() {
+        metricsConfig.onCustomerChanged(event(CustomerChangeType.STATUS_CHANGED, CustomerStatus.ACTIVE,
+                CustomerStatus.SUSPENDED));
+        metricsConfig.onCustomerChanged(event(CustomerChangeType.DELETED, CustomerStatus.PENDING,
+                CustomerStatus.INACTIVE));
+
+        assertEquals(9.0, statusGauge(CustomerStatus.ACTIVE));
+        assertEquals(1.0, statusGauge(CustomerStatus.SUSPENDED));
+        assertEquals(1.0, statusGauge(CustomerStatus.PENDING));
+        assertEquals(1.0, statusGauge(CustomerStatus.INACTIVE));
+    }
+
+    @Test
+    void testUpdated_leavesCountsUnchanged() {
+        metricsConfig.onCustomerChanged(event(CustomerChangeType.UPDATED, CustomerStatus.ACTIVE, CustomerStatus.ACTIVE));
+
+        assertEquals(10.0, statusGauge(CustomerStatus.ACTIVE));
+    }
+
+    @Test
+    void testReconcile_replacesDriftedValues() {
+        metricsConfig.onCustomerChanged(event(CustomerChangeType.CREATED, null, CustomerStatus.ACTIVE));
+        when(customerRepository.countGroupedByStatus()).thenReturn(Map.of(CustomerStatus.ACTIVE, 15L));
+
+        metricsConfig.reconcile();
+
+        assertEquals(15.0, statusGauge(CustomerStatus.ACTIVE));
+        assertEquals(0.0, statusGauge(CustomerStatus.PENDING));
+    }
+
+    @Test
+    void testRefreshCounts_picksUpRowsWrittenWithoutEvents() {
+        when(customerRepository.countGroupedByStatus()).thenReturn(Map.of(CustomerStatus.ACTIVE, 10L,
+                CustomerStatus.PENDING, 250L));
+        when(customerRepository.countGroupedByDocumentType()).thenReturn(Map.of(DocumentType.DNI, 260L));
+
+        metricsConfig.refreshCounts();
+
+        assertEquals(10.0, statusGauge(CustomerStatus.ACTIVE));
+        assertEquals(250.0, statusGauge(CustomerStatus.PENDING));
+        assertEquals(260.0, meterRegistry.get("customer.document-type.total").tag("document_type", "DNI").gauge().value());
+    }
+
+    @Test
+    void testReconcile_failure_keepsCurrentValues() {
+        when(customerRepository.countGroupedByStatus()).thenThrow(new IllegalStateException("db down"));
+
+        metricsConfig.reconcile();
+
+        assertEquals(10.0, statusGauge(CustomerStatus.ACTIVE));
+    }
+}
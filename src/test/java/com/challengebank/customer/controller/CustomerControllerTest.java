@@ -2,20 +2,37 @@ package com.challengebank.customer.controller;
 
 import com.challengebank.customer.exception.CustomerNotFoundException;
 import com.challengebank.customer.exception.DuplicateCustomerException;
+import com.challengebank.customer.exception.PreconditionFailedException;
 import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
+import com.challengebank.customer.model.dto.request.CustomerLookupRequest;
 import com.challengebank.customer.model.dto.request.UpdateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateStatusRequest;
+import com.challengebank.customer.model.dto.response.BulkCreateResponse;
+import com.challengebank.customer.model.dto.response.BulkCreateResult;
+import com.challengebank.customer.model.dto.response.CustomerChangesResponse;
+import com.challengebank.customer.model.dto.response.CustomerLookupResponse;
+import com.challengebank.customer.model.dto.response.CustomerLookupResult;
 import com.challengebank.customer.model.dto.response.CustomerPageResponse;
 import com.challengebank.customer.model.dto.response.CustomerResponse;
+import com.challengebank.customer.model.enums.BulkCreateOutcome;
+import com.challengebank.customer.model.enums.CountMode;
 import com.challengebank.customer.model.enums.CustomerStatus;
 import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.enums.ExportFormat;
+import com.challengebank.customer.model.enums.ExportMode;
+import com.challengebank.customer.service.CustomerBulkService;
+import com.challengebank.customer.service.CustomerExportService;
+import com.challengebank.customer.service.CustomerLookupService;
 import com.challengebank.customer.service.CustomerService;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -23,10 +40,14 @@ import java.util.List;
 import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @QuarkusTest
@@ -35,6 +56,15 @@ class CustomerControllerTest {
     @InjectMock
     CustomerService customerService;
 
+    @InjectMock
+    CustomerBulkService customerBulkService;
+
+    @InjectMock
+    CustomerExportService customerExportService;
+
+    @InjectMock
+    CustomerLookupService customerLookupService;
+
     // -------------------------------------------------------
     // Helper methods
     // -------------------------------------------------------
@@ -85,6 +115,7 @@ class CustomerControllerTest {
         response.status = CustomerStatus.ACTIVE;
         response.createdAt = LocalDateTime.of(2025, 1, 1, 10, 0, 0);
         response.updatedAt = LocalDateTime.of(2025, 1, 1, 10, 0, 0);
+        response.version = 3L;
         return response;
     }
 
@@ -93,7 +124,7 @@ class CustomerControllerTest {
         pageResponse.content = List.of(buildCustomerResponse());
         pageResponse.page = 0;
         pageResponse.size = 20;
-        pageResponse.totalElements = 1;
+        pageResponse.totalElements = 1L;
         pageResponse.totalPages = 1;
         return pageResponse;
     }
@@ -103,11 +134,27 @@ class CustomerControllerTest {
         pageResponse.content = Collections.emptyList();
         pageResponse.page = 0;
         pageResponse.size = 20;
-        pageResponse.totalElements = 0;
+        pageResponse.totalElements = 0L;
         pageResponse.totalPages = 0;
         return pageResponse;
     }
 
+    private BulkCreateResponse buildBulkResponse() {
+        BulkCreateResult created = new BulkCreateResult();
+        created.index = 0;
+        created.outcome = BulkCreateOutcome.CREATED;
+        created.customerId = CUSTOMER_ID;
+        BulkCreateResult duplicate = new BulkCreateResult();
+        duplicate.index = 1;
+        duplicate.outcome = BulkCreateOutcome.DUPLICATE;
+        duplicate.message = "Customer with email john.doe@example.com already exists";
+        BulkCreateResponse response = new BulkCreateResponse();
+        response.results = List.of(created, duplicate);
+        response.createdCount = 1;
+        response.duplicateCount = 1;
+        return response;
+    }
+
     // -------------------------------------------------------
     // GET /v1/customers
     // -------------------------------------------------------
@@ -115,7 +162,7 @@ class CustomerControllerTest {
     @Test
     @TestSecurity(user = "user1", roles = "ROLE_USER")
     void getAllCustomers_withRoleUser_returnsOk() {
-        when(customerService.getAllCustomers(anyInt(), anyInt(), any()))
+        when(customerService.getAllCustomers(anyInt(), anyInt(), any(), any()))
                 .thenReturn(buildPageResponse());
 
         given()
@@ -132,13 +179,13 @@ class CustomerControllerTest {
                 .body("totalElements", equalTo(1))
                 .body("totalPages", equalTo(1));
 
-        verify(customerService).getAllCustomers(0, 20, null);
+        verify(customerService).getAllCustomers(0, 20, null, null);
     }
 
     @Test
     @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
     void getAllCustomers_withRoleAdmin_returnsOk() {
-        when(customerService.getAllCustomers(anyInt(), anyInt(), any()))
+        when(customerService.getAllCustomers(anyInt(), anyInt(), any(), any()))
                 .thenReturn(buildPageResponse());
 
         given()
@@ -149,7 +196,7 @@ class CustomerControllerTest {
                 .contentType(ContentType.JSON)
                 .body("content", hasSize(1));
 
-        verify(customerService).getAllCustomers(0, 20, null);
+        verify(customerService).getAllCustomers(0, 20, null, null);
     }
 
     @Test
@@ -166,7 +213,7 @@ class CustomerControllerTest {
     @Test
     @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
     void getAllCustomers_withStatusFilter_returnsFiltered() {
-        when(customerService.getAllCustomers(eq(0), eq(20), eq(CustomerStatus.ACTIVE)))
+        when(customerService.getAllCustomers(eq(0), eq(20), eq(CustomerStatus.ACTIVE), any()))
                 .thenReturn(buildPageResponse());
 
         given()
@@ -178,13 +225,13 @@ class CustomerControllerTest {
                 .contentType(ContentType.JSON)
                 .body("content", hasSize(1));
 
-        verify(customerService).getAllCustomers(0, 20, CustomerStatus.ACTIVE);
+        verify(customerService).getAllCustomers(0, 20, CustomerStatus.ACTIVE, null);
     }
 
     @Test
     @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
     void getAllCustomers_withPagination_returnsPaged() {
-        when(customerService.getAllCustomers(eq(2), eq(10), any()))
+        when(customerService.getAllCustomers(eq(2), eq(10), any(), any()))
                 .thenReturn(buildEmptyPageResponse());
 
         given()
@@ -197,7 +244,95 @@ class CustomerControllerTest {
                 .contentType(ContentType.JSON)
                 .body("content", hasSize(0));
 
-        verify(customerService).getAllCustomers(2, 10, null);
+        verify(customerService).getAllCustomers(2, 10, null, null);
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getAllCustomers_withoutCount_omitsTotals() {
+        CustomerPageResponse pageResponse = new CustomerPageResponse();
+        pageResponse.content = List.of(buildCustomerResponse());
+        pageResponse.page = 0;
+        pageResponse.size = 20;
+        pageResponse.hasNext = true;
+        when(customerService.getAllCustomers(eq(0), eq(20), any(), eq(CountMode.NONE)))
+                .thenReturn(pageResponse);
+
+        given()
+                .queryParam("count", "NONE")
+                .when()
+                .get("/v1/customers")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("hasNext", equalTo(true))
+                .body("$", not(hasKey("totalElements")))
+                .body("$", not(hasKey("totalPages")));
+
+        verify(customerService).getAllCustomers(0, 20, null, CountMode.NONE);
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getAllCustomers_withCursor_usesKeysetPagination() {
+        CustomerPageResponse pageResponse = new CustomerPageResponse();
+        pageResponse.content = List.of(buildCustomerResponse());
+        pageResponse.size = 20;
+        pageResponse.cursor = "abc";
+        pageResponse.nextCursor = "def";
+        when(customerService.getCustomersByCursor(eq("abc"), eq(20), any()))
+                .thenReturn(pageResponse);
+
+        given()
+                .queryParam("cursor", "abc")
+                .when()
+                .get("/v1/customers")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("content", hasSize(1))
+                .body("cursor", equalTo("abc"))
+                .body("nextCursor", equalTo("def"))
+                .body("$", not(hasKey("totalElements")))
+                .body("$", not(hasKey("page")));
+
+        verify(customerService).getCustomersByCursor("abc", 20, null);
+        verify(customerService, never()).getAllCustomers(anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getAllCustomers_withEmptyCursor_startsKeysetPagination() {
+        CustomerPageResponse pageResponse = new CustomerPageResponse();
+        pageResponse.content = Collections.emptyList();
+        pageResponse.size = 20;
+        when(customerService.getCustomersByCursor(eq(""), eq(20), any()))
+                .thenReturn(pageResponse);
+
+        given()
+                .queryParam("cursor", "")
+                .when()
+                .get("/v1/customers")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(0));
+
+        verify(customerService).getCustomersByCursor("", 20, null);
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getAllCustomers_invalidCursor_returnsBadRequest() {
+        when(customerService.getCustomersByCursor(eq("bogus"), anyInt(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bogus"));
+
+        given()
+                .queryParam("cursor", "bogus")
+                .when()
+                .get("/v1/customers")
+                .then()
+                .statusCode(400)
+                .body("message", equalTo("Invalid cursor: bogus"));
     }
 
     // -------------------------------------------------------
@@ -381,6 +516,51 @@ class CustomerControllerTest {
         verify(customerService).getCustomerById(nonExistentId);
     }
 
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getCustomerById_returnsVersionAsETag() {
+        when(customerService.getCustomerById(CUSTOMER_ID)).thenReturn(buildCustomerResponse());
+
+        given()
+                .when()
+                .get("/v1/customers/{customerId}", CUSTOMER_ID)
+                .then()
+                .statusCode(200)
+                .header("ETag", "\"3\"")
+                .body("version", equalTo(3));
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getCustomerById_matchingIfNoneMatch_returns304() {
+        when(customerService.getVersionById(CUSTOMER_ID)).thenReturn(3L);
+
+        given()
+                .header("If-None-Match", "W/\"3\"")
+                .when()
+                .get("/v1/customers/{customerId}", CUSTOMER_ID)
+                .then()
+                .statusCode(304)
+                .header("ETag", "\"3\"");
+
+        verify(customerService, never()).getCustomerById(any());
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getCustomerById_staleIfNoneMatch_returnsOk() {
+        when(customerService.getVersionById(CUSTOMER_ID)).thenReturn(3L);
+        when(customerService.getCustomerById(CUSTOMER_ID)).thenReturn(buildCustomerResponse());
+
+        given()
+                .header("If-None-Match", "\"2\"")
+                .when()
+                .get("/v1/customers/{customerId}", CUSTOMER_ID)
+                .then()
+                .statusCode(200)
+                .header("ETag", "\"3\"");
+    }
+
     @Test
     void getCustomerById_unauthorized_returns401() {
         given()
@@ -404,7 +584,7 @@ class CustomerControllerTest {
         updatedResponse.lastName = "Doe";
         updatedResponse.email = "jane.doe@example.com";
 
-        when(customerService.updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class)))
+        when(customerService.updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class), isNull()))
                 .thenReturn(updatedResponse);
 
         given()
@@ -419,7 +599,7 @@ class CustomerControllerTest {
                 .body("firstName", equalTo("Jane"))
                 .body("email", equalTo("jane.doe@example.com"));
 
-        verify(customerService).updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class));
+        verify(customerService).updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class), isNull());
     }
 
     @Test
@@ -440,7 +620,7 @@ class CustomerControllerTest {
     @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
     void updateCustomer_notFound_returns404() {
         UUID nonExistentId = UUID.fromString("00000000-0000-0000-0000-000000000000");
-        when(customerService.updateCustomer(eq(nonExistentId), any(UpdateCustomerRequest.class)))
+        when(customerService.updateCustomer(eq(nonExistentId), any(UpdateCustomerRequest.class), isNull()))
                 .thenThrow(new CustomerNotFoundException("Customer not found: " + nonExistentId));
 
         given()
@@ -455,7 +635,7 @@ class CustomerControllerTest {
                 .body("error", equalTo("Not Found"))
                 .body("message", containsString("Customer not found"));
 
-        verify(customerService).updateCustomer(eq(nonExistentId), any(UpdateCustomerRequest.class));
+        verify(customerService).updateCustomer(eq(nonExistentId), any(UpdateCustomerRequest.class), isNull());
     }
 
     @Test
@@ -474,7 +654,7 @@ class CustomerControllerTest {
     @Test
     @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
     void updateCustomer_duplicateEmail_returnsConflict() {
-        when(customerService.updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class)))
+        when(customerService.updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class), isNull()))
                 .thenThrow(new DuplicateCustomerException("Email already in use: jane.doe@example.com"));
 
         given()
@@ -489,7 +669,7 @@ class CustomerControllerTest {
                 .body("error", equalTo("Conflict"))
                 .body("message", containsString("already in use"));
 
-        verify(customerService).updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class));
+        verify(customerService).updateCustomer(eq(CUSTOMER_ID), any(UpdateCustomerRequest.class), isNull());
     }
 
     // -------------------------------------------------------
@@ -634,7 +814,7 @@ class CustomerControllerTest {
         CustomerResponse suspendedResponse = buildCustomerResponse();
         suspendedResponse.status = CustomerStatus.SUSPENDED;
 
-        when(customerService.updateCustomerStatus(eq(CUSTOMER_ID), any(UpdateStatusRequest.class)))
+        when(customerService.updateCustomerStatus(eq(CUSTOMER_ID), any(UpdateStatusRequest.class), isNull()))
                 .thenReturn(suspendedResponse);
 
         given()
@@ -648,7 +828,40 @@ class CustomerControllerTest {
                 .body("customerId", equalTo(CUSTOMER_ID.toString()))
                 .body("status", equalTo("SUSPENDED"));
 
-        verify(customerService).updateCustomerStatus(eq(CUSTOMER_ID), any(UpdateStatusRequest.class));
+        verify(customerService).updateCustomerStatus(eq(CUSTOMER_ID), any(UpdateStatusRequest.class), isNull());
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void updateCustomerStatus_staleIfMatch_returns412() {
+        when(customerService.updateCustomerStatus(eq(CUSTOMER_ID), any(UpdateStatusRequest.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("Customer " + CUSTOMER_ID + " is at version 3, not 2"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", "\"2\"")
+                .body(buildUpdateStatusRequest())
+                .when()
+                .patch("/v1/customers/{customerId}/status", CUSTOMER_ID)
+                .then()
+                .statusCode(412)
+                .body("error", equalTo("Precondition Failed"));
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void updateCustomer_weakIfMatch_returnsBadRequest() {
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", "W/\"3\"")
+                .body(buildUpdateRequest())
+                .when()
+                .put("/v1/customers/{customerId}", CUSTOMER_ID)
+                .then()
+                .statusCode(400)
+                .body("message", containsString("If-Match"));
+
+        verifyNoInteractions(customerService);
     }
 
     @Test
@@ -682,7 +895,7 @@ class CustomerControllerTest {
     @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
     void updateCustomerStatus_notFound_returns404() {
         UUID nonExistentId = UUID.fromString("00000000-0000-0000-0000-000000000000");
-        when(customerService.updateCustomerStatus(eq(nonExistentId), any(UpdateStatusRequest.class)))
+        when(customerService.updateCustomerStatus(eq(nonExistentId), any(UpdateStatusRequest.class), isNull()))
                 .thenThrow(new CustomerNotFoundException("Customer not found: " + nonExistentId));
 
         given()
@@ -697,7 +910,7 @@ class CustomerControllerTest {
                 .body("error", equalTo("Not Found"))
                 .body("message", containsString("Customer not found"));
 
-        verify(customerService).updateCustomerStatus(eq(nonExistentId), any(UpdateStatusRequest.class));
+        verify(customerService).updateCustomerStatus(eq(nonExistentId), any(UpdateStatusRequest.class), isNull());
     }
 
     @Test
@@ -720,4 +933,268 @@ class CustomerControllerTest {
 
         verifyNoInteractions(customerService);
     }
+
+    // -------------------------------------------------------
+    // POST /v1/customers/bulk
+    // -------------------------------------------------------
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void createCustomersBulk_jsonArray_returnsPerRowResults() {
+        when(customerBulkService.createCustomers(anyList())).thenReturn(buildBulkResponse());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(buildCreateRequest(), buildCreateRequest()))
+                .when()
+                .post("/v1/customers/bulk")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("results", hasSize(2))
+                .body("results[0].outcome", equalTo("CREATED"))
+                .body("results[0].customerId", equalTo(CUSTOMER_ID.toString()))
+                .body("results[1].outcome", equalTo("DUPLICATE"))
+                .body("createdCount", equalTo(1))
+                .body("duplicateCount", equalTo(1))
+                .body("invalidCount", equalTo(0));
+
+        verify(customerBulkService).createCustomers(argThat(requests -> requests.size() == 2));
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    @SuppressWarnings("unchecked")
+    void createCustomersBulk_ndjson_keepsMalformedLinesAsEmptyRows() {
+        when(customerBulkService.createCustomers(anyList())).thenReturn(buildBulkResponse());
+        String body = """
+                {"firstName":"John","lastName":"Doe","documentType":"DNI","documentId":"DOC12345678","email":"john.doe@example.com"}
+
+                {not json
+                {"firstName":"Jane","lastName":"Doe","documentType":"DNI","documentId":"DOC87654321","email":"jane.doe@example.com"}
+                """;
+
+        given()
+                .contentType("application/x-ndjson")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/v1/customers/bulk")
+                .then()
+                .statusCode(200)
+                .body("results", hasSize(2));
+
+        ArgumentCaptor<List<CreateCustomerRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(customerBulkService).createCustomers(captor.capture());
+        List<CreateCustomerRequest> requests = captor.getValue();
+        assertEquals(3, requests.size());
+        assertEquals("DOC12345678", requests.get(0).documentId);
+        assertNull(requests.get(1));
+        assertEquals("jane.doe@example.com", requests.get(2).email);
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void createCustomersBulk_tooLarge_returnsBadRequest() {
+        when(customerBulkService.createCustomers(anyList()))
+                .thenThrow(new IllegalArgumentException("Bulk size 2 exceeds the maximum of 1"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(buildCreateRequest(), buildCreateRequest()))
+                .when()
+                .post("/v1/customers/bulk")
+                .then()
+                .statusCode(400)
+                .body("message", containsString("exceeds the maximum"));
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void createCustomersBulk_withRoleUser_returnsForbidden() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(buildCreateRequest()))
+                .when()
+                .post("/v1/customers/bulk")
+                .then()
+                .statusCode(403);
+
+        verifyNoInteractions(customerBulkService);
+    }
+
+    // -------------------------------------------------------
+    // GET /v1/customers/changes
+    // -------------------------------------------------------
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getChanges_withWatermark_returnsFeed() {
+        CustomerChangesResponse feed = new CustomerChangesResponse();
+        feed.content = List.of(buildCustomerResponse());
+        feed.since = "wm1";
+        feed.nextWatermark = "wm2";
+        feed.hasMore = true;
+        when(customerService.getChanges("wm1", 50)).thenReturn(feed);
+
+        given()
+                .queryParam("since", "wm1")
+                .queryParam("limit", 50)
+                .when()
+                .get("/v1/customers/changes")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(1))
+                .body("nextWatermark", equalTo("wm2"))
+                .body("hasMore", equalTo(true));
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void getChanges_limitTooLarge_returnsBadRequest() {
+        given()
+                .queryParam("limit", 1001)
+                .when()
+                .get("/v1/customers/changes")
+                .then()
+                .statusCode(400);
+
+        verify(customerService, never()).getChanges(any(), anyInt());
+    }
+
+    // -------------------------------------------------------
+    // POST /v1/customers/lookup
+    // -------------------------------------------------------
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void lookupCustomers_withRoleUser_returnsResultsPerInput() {
+        CustomerLookupResult found = new CustomerLookupResult();
+        found.customerId = CUSTOMER_ID;
+        found.found = true;
+        found.customer = buildCustomerResponse();
+        CustomerLookupResult missing = new CustomerLookupResult();
+        missing.index = 1;
+        missing.customerId = UUID.fromString("00000000-0000-0000-0000-000000000000");
+        CustomerLookupResponse response = new CustomerLookupResponse();
+        response.customers = List.of(found, missing);
+        response.documents = List.of();
+        response.foundCount = 1;
+        response.notFoundCount = 1;
+        when(customerLookupService.lookupCustomers(any(CustomerLookupRequest.class))).thenReturn(response);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"customerIds\": [\"" + CUSTOMER_ID + "\", \"00000000-0000-0000-0000-000000000000\"]}")
+                .when()
+                .post("/v1/customers/lookup")
+                .then()
+                .statusCode(200)
+                .body("customers", hasSize(2))
+                .body("customers[0].found", equalTo(true))
+                .body("customers[0].customer.firstName", equalTo("John"))
+                .body("customers[1].found", equalTo(false))
+                .body("customers[1].customer", nullValue())
+                .body("notFoundCount", equalTo(1));
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void lookupCustomers_documentWithoutType_returnsBadRequest() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"documents\": [{\"documentId\": \"12345678\"}]}")
+                .when()
+                .post("/v1/customers/lookup")
+                .then()
+                .statusCode(400);
+
+        verifyNoInteractions(customerLookupService);
+    }
+
+    @Test
+    void lookupCustomers_unauthorized_returns401() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"customerIds\": [\"" + CUSTOMER_ID + "\"]}")
+                .when()
+                .post("/v1/customers/lookup")
+                .then()
+                .statusCode(401);
+
+        verifyNoInteractions(customerLookupService);
+    }
+
+    // -------------------------------------------------------
+    // GET /v1/customers/export
+    // -------------------------------------------------------
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void exportCustomers_csv_streamsServiceOutput() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(customerExportService.export(eq(ExportFormat.CSV), eq(CustomerStatus.ACTIVE), eq(since), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(3).write("customerId\n".getBytes(StandardCharsets.UTF_8));
+                    return 0L;
+                });
+
+        given()
+                .queryParam("format", "CSV")
+                .queryParam("status", "ACTIVE")
+                .queryParam("updatedSince", "2025-01-01T00:00:00")
+                .when()
+                .get("/v1/customers/export")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("text/csv"))
+                .header("Content-Disposition", containsString("customers.csv"))
+                .body(equalTo("customerId\n"));
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void exportCustomers_copyMode_usesCopy() throws Exception {
+        when(customerExportService.copy(eq(ExportFormat.CSV), isNull(), isNull(), any())).thenReturn(0L);
+
+        given()
+                .queryParam("format", "CSV")
+                .queryParam("mode", "COPY")
+                .when()
+                .get("/v1/customers/export")
+                .then()
+                .statusCode(200);
+
+        verify(customerExportService).requireSupported(ExportFormat.CSV, ExportMode.COPY);
+        verify(customerExportService).copy(eq(ExportFormat.CSV), isNull(), isNull(), any());
+        verify(customerExportService, never()).export(any(), any(), any(), any());
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void exportCustomers_unsupportedCombination_returnsBadRequest() throws Exception {
+        doThrow(new IllegalArgumentException("COPY export supports CSV and BINARY formats only"))
+                .when(customerExportService).requireSupported(ExportFormat.NDJSON, ExportMode.COPY);
+
+        given()
+                .queryParam("mode", "COPY")
+                .when()
+                .get("/v1/customers/export")
+                .then()
+                .statusCode(400)
+                .body("message", containsString("CSV and BINARY"));
+
+        verify(customerExportService, never()).copy(any(), any(), any(), any());
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void exportCustomers_withRoleUser_returns403() {
+        given()
+                .when()
+                .get("/v1/customers/export")
+                .then()
+                .statusCode(403);
+
+        verifyNoInteractions(customerExportService);
+    }
 }
@@ -0,0 +1,118 @@
+package com.challengebank.customer.controller;
+
+import com.challengebank.customer.exception.ImportNotFoundException;
+import com.challengebank.customer.model.dto.response.CustomerImportResponse;
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.model.enums.ImportStatus;
+import com.challengebank.customer.service.CustomerImportService;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class CustomerImportControllerTest {
+
+    private static final UUID IMPORT_ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+
+    @InjectMock
+    CustomerImportService customerImportService;
+
+    private CustomerImportResponse buildResponse(ImportFormat format, ImportStatus status) {
+        CustomerImportResponse response = new CustomerImportResponse();
+        response.importId = IMPORT_ID;
+        response.format = format;
+        response.status = status;
+        response.totalRows = 2;
+        return response;
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void importCustomers_csv_returnsAcceptedWithLocation() throws Exception {
+        when(customerImportService.startImport(eq(ImportFormat.CSV), any()))
+                .thenReturn(buildResponse(ImportFormat.CSV, ImportStatus.VALIDATING));
+
+        given()
+                .contentType("text/csv")
+                .body("firstName,lastName,documentType,documentId,email,phone,dateOfBirth,address\n")
+                .when()
+                .post("/v1/customers/imports")
+                .then()
+                .statusCode(202)
+                .header("Location", endsWith("/v1/customers/imports/" + IMPORT_ID))
+                .body("status", equalTo("VALIDATING"))
+                .body("totalRows", equalTo(2));
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void importCustomers_ndjson_usesNdjsonFormat() throws Exception {
+        when(customerImportService.startImport(eq(ImportFormat.NDJSON), any()))
+                .thenReturn(buildResponse(ImportFormat.NDJSON, ImportStatus.VALIDATING));
+
+        given()
+                .contentType("application/x-ndjson")
+                .body("{\"firstName\":\"John\"}\n")
+                .when()
+                .post("/v1/customers/imports")
+                .then()
+                .statusCode(202)
+                .body("format", equalTo("NDJSON"));
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void importCustomers_userRole_returnsForbidden() {
+        given()
+                .contentType("text/csv")
+                .body("")
+                .when()
+                .post("/v1/customers/imports")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void getImport_unknownId_returnsNotFound() {
+        when(customerImportService.getImport(IMPORT_ID))
+                .thenThrow(new ImportNotFoundException("Import not found: " + IMPORT_ID));
+
+        given()
+                .when()
+                .get("/v1/customers/imports/" + IMPORT_ID)
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @TestSecurity(user = "admin1", roles = "ROLE_ADMIN")
+    void getRejections_existingImport_streamsCsv() throws Exception {
+        when(customerImportService.getImport(IMPORT_ID))
+                .thenReturn(buildResponse(ImportFormat.CSV, ImportStatus.COMPLETED));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1)
+                    .write("line,reason\n2,documentId: customer already exists\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(customerImportService).writeRejections(eq(IMPORT_ID), any());
+
+        given()
+                .when()
+                .get("/v1/customers/imports/" + IMPORT_ID + "/rejections")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("text/csv"))
+                .body(containsString("customer already exists"));
+    }
+}
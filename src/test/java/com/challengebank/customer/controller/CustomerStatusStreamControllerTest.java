@@ -0,0 +1,68 @@
+package com.challengebank.customer.controller;
+
+import com.challengebank.customer.exception.StreamCapacityException;
+import com.challengebank.customer.messaging.CustomerStatusEvent;
+import com.challengebank.customer.messaging.CustomerStatusStream;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.smallrye.mutiny.Multi;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class CustomerStatusStreamControllerTest {
+
+    @InjectMock
+    CustomerStatusStream customerStatusStream;
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void streamStatusChanges_lastEventId_sendsEventsWithIds() {
+        CustomerStatusEvent event = new CustomerStatusEvent(UUID.fromString("550e8400-e29b-41d4-a716-446655440000"),
+                "12345678", CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED, LocalDateTime.of(2025, 1, 1, 10, 0), false, false);
+        when(customerStatusStream.subscribe("previous-id")).thenReturn(Multi.createFrom().item(event));
+
+        given()
+                .header("Last-Event-ID", "previous-id")
+                .accept("text/event-stream")
+                .when()
+                .get("/v1/customers/status-stream")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("text/event-stream"))
+                .body(containsString(event.eventId()))
+                .body(containsString("\"status\":\"SUSPENDED\""));
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void streamStatusChanges_atCapacity_returnsServiceUnavailable() {
+        when(customerStatusStream.subscribe(null))
+                .thenThrow(new StreamCapacityException("Too many status stream subscribers, retry later"));
+
+        given()
+                .accept("text/event-stream")
+                .when()
+                .get("/v1/customers/status-stream")
+                .then()
+                .statusCode(503);
+    }
+
+    @Test
+    void streamStatusChanges_anonymous_returnsUnauthorized() {
+        given()
+                .accept("text/event-stream")
+                .when()
+                .get("/v1/customers/status-stream")
+                .then()
+                .statusCode(401);
+    }
+}
@@ -1,6 +1,8 @@
 package com.challengebank.customer.controller;
 
+import com.challengebank.customer.model.dto.request.BatchValidateRequest;
 import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BatchValidationResponse;
 import com.challengebank.customer.model.dto.response.ValidationResponse;
 import com.challengebank.customer.model.enums.CustomerStatus;
 import com.challengebank.customer.service.ValidationService;
@@ -10,11 +12,15 @@ import io.quarkus.test.security.TestSecurity;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @QuarkusTest
@@ -243,6 +249,24 @@ class ValidationControllerTest {
         verify(validationService).validateCustomerById(CUSTOMER_ID);
     }
 
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void validateCustomerById_runsOnVirtualThread() {
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(validationService.validateCustomerById(CUSTOMER_ID)).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return buildValidResponse();
+        });
+
+        given()
+                .when()
+                .get("/v1/customers/{customerId}/validate", CUSTOMER_ID)
+                .then()
+                .statusCode(200);
+
+        assertTrue(virtual.get());
+    }
+
     @Test
     void validateCustomerById_unauthorized_returns401() {
         given()
@@ -293,4 +317,88 @@ class ValidationControllerTest {
 
         verify(validationService).validateCustomerById(CUSTOMER_ID);
     }
+
+    // -------------------------------------------------------
+    // POST /v1/customers/validate/batch
+    // -------------------------------------------------------
+
+    private BatchValidateRequest buildBatchRequest() {
+        BatchValidateRequest request = new BatchValidateRequest();
+        request.items = List.of(buildValidateByCustomerIdRequest(), buildValidateByDocumentIdRequest());
+        return request;
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void validateCustomers_batch_returnsResultsInInputOrder() {
+        BatchValidationResponse batchResponse = new BatchValidationResponse();
+        batchResponse.results = List.of(buildValidResponse(), buildNotFoundResponse());
+        batchResponse.validCount = 1;
+        batchResponse.invalidCount = 1;
+        when(validationService.validateCustomers(anyList())).thenReturn(batchResponse);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(buildBatchRequest())
+                .when()
+                .post("/v1/customers/validate/batch")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("results", hasSize(2))
+                .body("results[0].valid", equalTo(true))
+                .body("results[0].customerId", equalTo(CUSTOMER_ID.toString()))
+                .body("results[1].valid", equalTo(false))
+                .body("results[1].message", equalTo("Customer not found"))
+                .body("validCount", equalTo(1))
+                .body("invalidCount", equalTo(1));
+
+        verify(validationService).validateCustomers(anyList());
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void validateCustomers_emptyItems_returnsBadRequest() {
+        BatchValidateRequest request = new BatchValidateRequest();
+        request.items = List.of();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/v1/customers/validate/batch")
+                .then()
+                .statusCode(400);
+
+        verifyNoInteractions(validationService);
+    }
+
+    @Test
+    @TestSecurity(user = "user1", roles = "ROLE_USER")
+    void validateCustomers_tooManyItems_returnsBadRequest() {
+        when(validationService.validateCustomers(anyList()))
+                .thenThrow(new IllegalArgumentException("Batch size 2 exceeds the maximum of 1"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(buildBatchRequest())
+                .when()
+                .post("/v1/customers/validate/batch")
+                .then()
+                .statusCode(400)
+                .body("message", containsString("exceeds the maximum"));
+    }
+
+    @Test
+    void validateCustomers_unauthorized_returns401() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(buildBatchRequest())
+                .when()
+                .post("/v1/customers/validate/batch")
+                .then()
+                .statusCode(401);
+
+        verifyNoInteractions(validationService);
+    }
 }
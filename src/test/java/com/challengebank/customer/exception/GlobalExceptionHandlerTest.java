@@ -1,6 +1,7 @@
 package com.challengebank.customer.exception;
 
 import com.challengebank.customer.model.dto.response.ErrorResponse;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
@@ -43,6 +44,28 @@ class GlobalExceptionHandlerTest {
         assertNotNull(body.timestamp);
     }
 
+    @Test
+    void testHandleImportNotFound() {
+        when(uriInfo.getPath()).thenReturn("/v1/customers/imports/123");
+        ImportNotFoundException ex = new ImportNotFoundException("Import not found: 123");
+
+        RestResponse<ErrorResponse> response = handler.handleImportNotFound(ex, uriInfo);
+
+        assertEquals(404, response.getStatus());
+        assertEquals("Import not found: 123", response.getEntity().message);
+    }
+
+    @Test
+    void testHandleStreamCapacity() {
+        when(uriInfo.getPath()).thenReturn("/v1/customers/status-stream");
+        StreamCapacityException ex = new StreamCapacityException("Too many status stream subscribers");
+
+        RestResponse<ErrorResponse> response = handler.handleStreamCapacity(ex, uriInfo);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("Too many status stream subscribers", response.getEntity().message);
+    }
+
     @Test
     void testHandleDuplicateCustomer() {
         when(uriInfo.getPath()).thenReturn("/customers");
@@ -60,6 +83,43 @@ class GlobalExceptionHandlerTest {
         assertNotNull(body.timestamp);
     }
 
+    @Test
+    void testHandleDuplicateCustomer_withField_listsFieldError() {
+        when(uriInfo.getPath()).thenReturn("/customers");
+        DuplicateCustomerException ex = new DuplicateCustomerException("email",
+                "Customer with email john@test.com already exists");
+
+        RestResponse<ErrorResponse> response = handler.handleDuplicateCustomer(ex, uriInfo);
+
+        assertEquals(409, response.getStatus());
+        ErrorResponse body = response.getEntity();
+        assertEquals(1, body.errors.size());
+        assertEquals("email", body.errors.get(0).field);
+        assertEquals("Customer with email john@test.com already exists", body.errors.get(0).message);
+    }
+
+    @Test
+    void testHandlePreconditionFailed() {
+        when(uriInfo.getPath()).thenReturn("/v1/customers/123");
+        PreconditionFailedException ex = new PreconditionFailedException("Customer 123 is at version 4, not 3");
+
+        RestResponse<ErrorResponse> response = handler.handlePreconditionFailed(ex, uriInfo);
+
+        assertEquals(412, response.getStatus());
+        assertEquals("Precondition Failed", response.getEntity().error);
+        assertEquals("Customer 123 is at version 4, not 3", response.getEntity().message);
+    }
+
+    @Test
+    void testHandleOptimisticLock() {
+        when(uriInfo.getPath()).thenReturn("/v1/customers/123");
+
+        RestResponse<ErrorResponse> response = handler.handleOptimisticLock(new OptimisticLockException(), uriInfo);
+
+        assertEquals(409, response.getStatus());
+        assertEquals("Conflict", response.getEntity().error);
+    }
+
     @Test
     void testHandleInvalidStatusTransition() {
         when(uriInfo.getPath()).thenReturn("/customers/123/status");
@@ -44,6 +44,7 @@ class CorrelationIdFilterTest {
 
         assertEquals(existingId, MDC.get(CorrelationIdFilter.CORRELATION_ID_MDC_KEY));
         assertEquals(existingId, headers.getFirst(CorrelationIdFilter.CORRELATION_ID_HEADER));
+        verify(requestContext).setProperty(CorrelationIdFilter.CORRELATION_ID_PROPERTY, existingId);
     }
 
     @Test
@@ -94,6 +95,21 @@ class CorrelationIdFilterTest {
         assertEquals(correlationId, responseHeaders.getFirst(CorrelationIdFilter.CORRELATION_ID_HEADER));
     }
 
+    @Test
+    void testResponseFilter_usesRequestProperty_whenMdcBelongsToAnotherThread() {
+        String correlationId = "request-property-id-321";
+        MDC.put(CorrelationIdFilter.CORRELATION_ID_MDC_KEY, "stale-thread-id");
+
+        MultivaluedMap<String, Object> responseHeaders = new MultivaluedHashMap<>();
+        when(requestContext.getProperty(CorrelationIdFilter.CORRELATION_ID_PROPERTY)).thenReturn(correlationId);
+        when(responseContext.getHeaders()).thenReturn(responseHeaders);
+
+        filter.filter(requestContext, responseContext);
+
+        assertEquals(correlationId, responseHeaders.getFirst(CorrelationIdFilter.CORRELATION_ID_HEADER));
+        assertNull(MDC.get(CorrelationIdFilter.CORRELATION_ID_MDC_KEY));
+    }
+
     @Test
     void testResponseFilter_cleansMDC() {
         String correlationId = "cleanup-correlation-id-789";
@@ -2,11 +2,13 @@ package com.challengebank.customer.mapper;
 
 import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateCustomerRequest;
+import com.challengebank.customer.model.dto.response.CustomerChangesResponse;
 import com.challengebank.customer.model.dto.response.CustomerPageResponse;
 import com.challengebank.customer.model.dto.response.CustomerResponse;
 import com.challengebank.customer.model.entity.Customer;
 import com.challengebank.customer.model.enums.CustomerStatus;
 import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.projection.CustomerView;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
@@ -76,6 +78,29 @@ class CustomerMapperTest {
         assertEquals(LocalDateTime.of(2024, 6, 1, 12, 0, 0), response.updatedAt);
     }
 
+    @Test
+    void testToResponse_fromView() {
+        UUID customerId = UUID.randomUUID();
+        CustomerView view = new CustomerView(customerId, "Jane", "Smith", DocumentType.PASSPORT, "AB123456",
+                "jane.smith@example.com", "+1234567890", LocalDate.of(1985, 6, 20), CustomerStatus.ACTIVE,
+                LocalDateTime.of(2024, 1, 1, 10, 0, 0), LocalDateTime.of(2024, 6, 1, 12, 0, 0), 3L);
+
+        CustomerResponse response = mapper.toResponse(view);
+
+        assertEquals(customerId, response.customerId);
+        assertEquals("Jane", response.firstName);
+        assertEquals("Smith", response.lastName);
+        assertEquals(DocumentType.PASSPORT, response.documentType);
+        assertEquals("AB123456", response.documentId);
+        assertEquals("jane.smith@example.com", response.email);
+        assertEquals("+1234567890", response.phone);
+        assertEquals(LocalDate.of(1985, 6, 20), response.dateOfBirth);
+        assertEquals(CustomerStatus.ACTIVE, response.status);
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0, 0), response.createdAt);
+        assertEquals(LocalDateTime.of(2024, 6, 1, 12, 0, 0), response.updatedAt);
+        assertEquals(3L, response.version);
+    }
+
     @Test
     void testUpdateEntity_allFields() {
         Customer customer = new Customer();
@@ -165,7 +190,7 @@ class CustomerMapperTest {
         c2.email = "bob@example.com";
         c2.status = CustomerStatus.PENDING;
 
-        List<Customer> customers = List.of(c1, c2);
+        List<CustomerView> customers = List.of(CustomerView.of(c1), CustomerView.of(c2));
 
         CustomerPageResponse response = mapper.toPageResponse(customers, 0, 10, 25);
 
@@ -174,6 +199,7 @@ class CustomerMapperTest {
         assertEquals(10, response.size);
         assertEquals(25, response.totalElements);
         assertEquals(3, response.totalPages); // ceil(25/10) = 3
+        assertTrue(response.hasNext);
 
         assertEquals("Alice", response.content.get(0).firstName);
         assertEquals("Bob", response.content.get(1).firstName);
@@ -181,7 +207,7 @@ class CustomerMapperTest {
 
     @Test
     void testToPageResponse_emptyList() {
-        List<Customer> customers = Collections.emptyList();
+        List<CustomerView> customers = Collections.emptyList();
 
         CustomerPageResponse response = mapper.toPageResponse(customers, 0, 10, 0);
 
@@ -190,15 +216,61 @@ class CustomerMapperTest {
         assertEquals(10, response.size);
         assertEquals(0, response.totalElements);
         assertEquals(0, response.totalPages); // ceil(0/10) = 0
+        assertFalse(response.hasNext);
     }
 
     @Test
     void testToPageResponse_sizeZero() {
-        List<Customer> customers = Collections.emptyList();
+        List<CustomerView> customers = Collections.emptyList();
 
         CustomerPageResponse response = mapper.toPageResponse(customers, 0, 0, 0);
 
         assertTrue(response.content.isEmpty());
         assertEquals(0, response.totalPages); // size == 0 branch
     }
+
+    @Test
+    void testToPageResponse_withoutTotal() {
+        CustomerPageResponse response = mapper.toPageResponse(Collections.emptyList(), 3, 10, null, true);
+
+        assertEquals(3, response.page);
+        assertEquals(10, response.size);
+        assertNull(response.totalElements);
+        assertNull(response.totalPages);
+        assertTrue(response.hasNext);
+    }
+
+    @Test
+    void testToCursorPageResponse() {
+        Customer customer = new Customer();
+        customer.customerId = UUID.randomUUID();
+        customer.firstName = "Alice";
+
+        CustomerPageResponse response = mapper.toCursorPageResponse(List.of(CustomerView.of(customer)), 10, "current", "next");
+
+        assertEquals(1, response.content.size());
+        assertEquals("Alice", response.content.get(0).firstName);
+        assertEquals(10, response.size);
+        assertEquals("current", response.cursor);
+        assertEquals("next", response.nextCursor);
+        assertNull(response.page);
+        assertNull(response.totalElements);
+        assertNull(response.totalPages);
+        assertTrue(response.hasNext);
+    }
+
+    @Test
+    void testToChangesResponse() {
+        Customer customer = new Customer();
+        customer.customerId = UUID.randomUUID();
+        customer.firstName = "Alice";
+
+        CustomerChangesResponse response = mapper.toChangesResponse(List.of(CustomerView.of(customer)), "since", "next", false);
+
+        assertEquals(1, response.content.size());
+        assertEquals("Alice", response.content.get(0).firstName);
+        assertEquals("since", response.since);
+        assertEquals("next", response.nextWatermark);
+        assertFalse(response.hasMore);
+    }
 }
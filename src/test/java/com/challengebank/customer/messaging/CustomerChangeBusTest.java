@@ -0,0 +1,119 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerChangeBusTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    Event<CustomerChangeNotification> notifications;
+
+    @InjectMocks
+    CustomerChangeBus bus;
+
+    private final CustomerChangedEvent event = new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED,
+            CUSTOMER_ID, DocumentType.DNI, "12345678", "john@test.com", CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED,
+            0L);
+
+    @BeforeEach
+    void setUp() {
+        bus.enabled = true;
+        bus.channel = "customer_changes";
+    }
+
+    @Test
+    void testPublish_postgres_notifiesInsideTransaction() throws Exception {
+        bus.dbKind = "postgresql";
+        Session session = mock(Session.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(connection.prepareStatement("SELECT pg_notify(?, ?)")).thenReturn(statement);
+
+        bus.publish(event);
+
+        ArgumentCaptor<Work> work = ArgumentCaptor.forClass(Work.class);
+        verify(session).doWork(work.capture());
+        work.getValue().execute(connection);
+        verify(statement).setString(1, "customer_changes");
+        verify(statement).setString(eq(2),
+                startsWith("550e8400-e29b-41d4-a716-446655440000|12345678|STATUS_CHANGED|ACTIVE|SUSPENDED|"));
+        verify(statement).execute();
+    }
+
+    @Test
+    void testPublishLocally_postgres_leavesDeliveryToListener() {
+        bus.dbKind = "postgresql";
+
+        bus.publishLocally(event);
+
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    void testNonPostgres_deliversInProcessAfterCommit() {
+        bus.dbKind = "h2";
+
+        bus.publish(event);
+        bus.publishLocally(event);
+
+        verifyNoInteractions(entityManager);
+        verify(notifications).fire(argThat(n -> CUSTOMER_ID.equals(n.customerId())
+                && "12345678".equals(n.documentId()) && n.isStatusChange()));
+    }
+
+    @Test
+    void testDisabled_deliversInProcessOnly() {
+        bus.dbKind = "postgresql";
+        bus.enabled = false;
+
+        bus.publish(event);
+        bus.publishLocally(event);
+
+        verifyNoInteractions(entityManager);
+        verify(notifications).fire(any(CustomerChangeNotification.class));
+        assertFalse(bus.usesNotify());
+    }
+
+    @Test
+    void testCreated_isNotBroadcast() {
+        CustomerChangedEvent created = new CustomerChangedEvent(CustomerChangeType.CREATED,
+                CUSTOMER_ID, DocumentType.DNI, "12345678", "john@test.com", null, CustomerStatus.PENDING, 0L);
+
+        bus.dbKind = "postgresql";
+        bus.publish(created);
+        bus.dbKind = "h2";
+        bus.publishLocally(created);
+
+        verifyNoInteractions(entityManager, notifications);
+    }
+}
@@ -0,0 +1,89 @@
+package com.challengebank.customer.messaging;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerChangeListenerTest {
+
+    @Mock
+    CustomerChangeBus customerChangeBus;
+
+    @Mock
+    Event<CustomerChangeNotification> notifications;
+
+    @InjectMocks
+    CustomerChangeListener listener;
+
+    @Test
+    void testDispatch_firesNotification() {
+        UUID customerId = UUID.randomUUID();
+
+        listener.dispatch(customerId + "|12345678");
+
+        verify(notifications).fire(new CustomerChangeNotification(customerId, "12345678", false));
+    }
+
+    @Test
+    void testDispatch_malformedPayload_isIgnored() {
+        assertDoesNotThrow(() -> listener.dispatch("garbage"));
+
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    void testDispatch_observerFailure_doesNotStopListener() {
+        doThrow(new IllegalStateException("boom")).when(notifications).fire(any());
+
+        assertDoesNotThrow(() -> listener.dispatch(UUID.randomUUID() + "|12345678"));
+    }
+
+    @Test
+    void testListen_sessionFailsWithRuntimeException_reconnects() throws Exception {
+        CustomerChangeListener spied = spy(listener);
+        spied.reconnectDelay = Duration.ZERO;
+        spied.running = true;
+        doThrow(new IllegalStateException("resync observer failed"))
+                .doAnswer(invocation -> {
+                    spied.running = false;
+                    return null;
+                })
+                .when(spied).session();
+
+        assertDoesNotThrow(spied::listen);
+
+        verify(spied, times(2)).session();
+    }
+
+    @Test
+    void testOnStart_withoutNotify_doesNotConnect() {
+        listener.jdbcUrl = Optional.of("jdbc:h2:mem:test");
+        when(customerChangeBus.usesNotify()).thenReturn(false);
+
+        assertDoesNotThrow(() -> listener.onStart(new StartupEvent()));
+
+        verifyNoInteractions(notifications);
+    }
+
+    @Test
+    void testOnStart_invalidChannel_isRejected() {
+        listener.jdbcUrl = Optional.of("jdbc:postgresql://localhost:5432/customer_db");
+        customerChangeBus.channel = "changes; DROP TABLE customers";
+        when(customerChangeBus.usesNotify()).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> listener.onStart(new StartupEvent()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerChangeNotificationTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Test
+    void testOf_copiesKeysFromEvent() {
+        CustomerChangedEvent event = new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, CUSTOMER_ID,
+                DocumentType.DNI, "12345678", "john@test.com", CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED, 0L);
+
+        CustomerChangeNotification notification = CustomerChangeNotification.of(event);
+
+        assertEquals(CUSTOMER_ID, notification.customerId());
+        assertEquals("12345678", notification.documentId());
+        assertFalse(notification.resync());
+    }
+
+    @Test
+    void testPayload_roundTrip() {
+        CustomerChangeNotification notification = new CustomerChangeNotification(CUSTOMER_ID, "12345678", false);
+
+        assertEquals("550e8400-e29b-41d4-a716-446655440000|12345678", notification.toPayload());
+        assertEquals(notification, CustomerChangeNotification.fromPayload(notification.toPayload()));
+    }
+
+    @Test
+    void testPayload_withoutDocument() {
+        CustomerChangeNotification notification = new CustomerChangeNotification(CUSTOMER_ID, null, false);
+
+        assertEquals(notification, CustomerChangeNotification.fromPayload(notification.toPayload()));
+        assertEquals(notification, CustomerChangeNotification.fromPayload(CUSTOMER_ID.toString()));
+    }
+
+    @Test
+    void testFromPayload_malformed() {
+        assertThrows(IllegalArgumentException.class, () -> CustomerChangeNotification.fromPayload("not-a-uuid|123"));
+    }
+
+    @Test
+    void testResyncAll() {
+        CustomerChangeNotification notification = CustomerChangeNotification.resyncAll();
+
+        assertTrue(notification.resync());
+        assertNull(notification.customerId());
+    }
+
+    @Test
+    void testPayload_statusChange_roundTrip() {
+        CustomerChangeNotification notification = new CustomerChangeNotification(CUSTOMER_ID, "AB|12", false,
+                CustomerChangeType.STATUS_CHANGED, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED,
+                LocalDateTime.of(2025, 1, 1, 10, 0, 0, 123000));
+
+        assertEquals(notification, CustomerChangeNotification.fromPayload(notification.toPayload()));
+        assertTrue(notification.isStatusChange());
+    }
+
+    @Test
+    void testOf_carriesStatusTransition() {
+        CustomerChangedEvent event = new CustomerChangedEvent(CustomerChangeType.DELETED, CUSTOMER_ID,
+                DocumentType.DNI, "12345678", "john@test.com", CustomerStatus.ACTIVE, CustomerStatus.INACTIVE, 0L);
+
+        CustomerChangeNotification notification = CustomerChangeNotification.of(event);
+
+        assertEquals(CustomerChangeType.DELETED, notification.type());
+        assertEquals(CustomerStatus.ACTIVE, notification.previousStatus());
+        assertEquals(CustomerStatus.INACTIVE, notification.status());
+        assertNotNull(notification.changedAt());
+        assertTrue(notification.isStatusChange());
+    }
+
+    @Test
+    void testIsStatusChange_updateOrKeysOnly() {
+        CustomerChangeNotification update = new CustomerChangeNotification(CUSTOMER_ID, "12345678", false,
+                CustomerChangeType.UPDATED, CustomerStatus.ACTIVE, CustomerStatus.ACTIVE, LocalDateTime.now());
+
+        assertFalse(update.isStatusChange());
+        assertFalse(new CustomerChangeNotification(CUSTOMER_ID, "12345678", false).isStatusChange());
+    }
+}
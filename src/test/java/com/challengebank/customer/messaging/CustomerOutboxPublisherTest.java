@@ -0,0 +1,71 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.repository.CustomerOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerOutboxPublisherTest {
+
+    @Mock
+    CustomerOutboxRepository outboxRepository;
+
+    CustomerOutboxPublisher publisher;
+
+    SimpleMeterRegistry meterRegistry;
+
+    CustomerOutboxSink sink = batch -> { };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new CustomerOutboxPublisher();
+        publisher.outboxRepository = outboxRepository;
+        publisher.enabled = true;
+        publisher.batchSize = 100;
+        publisher.sink = sink;
+        publisher.publishedCounter = meterRegistry.counter("customer.outbox.published");
+        publisher.failureCounter = meterRegistry.counter("customer.outbox.failures");
+    }
+
+    @Test
+    void testPublish_fullBatches_drainsUntilPartialBatch() throws Exception {
+        when(outboxRepository.drain(100, sink)).thenReturn(100, 100, 7);
+
+        publisher.publish();
+
+        verify(outboxRepository, times(3)).drain(100, sink);
+        assertEquals(207.0, publisher.publishedCounter.count());
+    }
+
+    @Test
+    void testPublish_sinkFails_countsFailureAndStops() throws Exception {
+        when(outboxRepository.drain(100, sink)).thenReturn(100).thenThrow(new IOException("503"));
+
+        publisher.publish();
+
+        verify(outboxRepository, times(2)).drain(100, sink);
+        assertEquals(100.0, publisher.publishedCounter.count());
+        assertEquals(1.0, publisher.failureCounter.count());
+    }
+
+    @Test
+    void testPublish_disabled_doesNotDrain() throws Exception {
+        publisher.enabled = false;
+
+        publisher.publish();
+
+        verify(outboxRepository, never()).drain(anyInt(), any());
+    }
+}
@@ -0,0 +1,64 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.model.entity.CustomerOutboxEntry;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.repository.CustomerOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerOutboxTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Mock
+    CustomerOutboxRepository outboxRepository;
+
+    @InjectMocks
+    CustomerOutbox outbox;
+
+    private static CustomerChangedEvent statusChanged() {
+        return new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, CUSTOMER_ID, DocumentType.DNI, "12345678",
+                "john@test.com", CustomerStatus.PENDING, CustomerStatus.ACTIVE, 3L);
+    }
+
+    @Test
+    void testRecord_persistsCompactEntry() {
+        outbox.enabled = true;
+
+        outbox.record(statusChanged());
+
+        ArgumentCaptor<CustomerOutboxEntry> captor = ArgumentCaptor.forClass(CustomerOutboxEntry.class);
+        verify(outboxRepository).persist(captor.capture());
+        CustomerOutboxEntry entry = captor.getValue();
+        assertEquals(CustomerChangeType.STATUS_CHANGED, entry.type);
+        assertEquals(CUSTOMER_ID, entry.customerId);
+        assertEquals(DocumentType.DNI, entry.documentType);
+        assertEquals("12345678", entry.documentId);
+        assertEquals(CustomerStatus.PENDING, entry.previousStatus);
+        assertEquals(CustomerStatus.ACTIVE, entry.status);
+        assertEquals(3L, entry.customerVersion);
+    }
+
+    @Test
+    void testRecord_disabled_doesNothing() {
+        outbox.enabled = false;
+
+        outbox.record(statusChanged());
+
+        verify(outboxRepository, never()).persist(any(CustomerOutboxEntry.class));
+    }
+}
@@ -0,0 +1,200 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.exception.StreamCapacityException;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.StreamOverflowPolicy;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerCursor;
+import com.challengebank.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerStatusStreamTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final LocalDateTime CHANGED_AT = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    CustomerStatusStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new CustomerStatusStream();
+        stream.customerRepository = customerRepository;
+        stream.meterRegistry = new SimpleMeterRegistry();
+        stream.bufferSize = 2;
+        stream.overflowPolicy = StreamOverflowPolicy.DISCONNECT;
+        stream.maxSubscribers = 10;
+        stream.replayLimit = 100;
+        stream.replayWindow = Duration.ofSeconds(5);
+        stream.initMetrics();
+    }
+
+    private static CustomerChangeNotification suspended(int minute) {
+        return new CustomerChangeNotification(CUSTOMER_ID, "12345678", false, CustomerChangeType.STATUS_CHANGED,
+                CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED, CHANGED_AT.plusMinutes(minute));
+    }
+
+    @Test
+    void testSubscribe_receivesStatusChangesOnly() {
+        AssertSubscriber<CustomerStatusEvent> subscriber =
+                stream.subscribe(null).subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        stream.onCustomerChangeNotification(suspended(0));
+        stream.onCustomerChangeNotification(new CustomerChangeNotification(CUSTOMER_ID, "12345678", false,
+                CustomerChangeType.UPDATED, CustomerStatus.ACTIVE, CustomerStatus.ACTIVE, CHANGED_AT));
+
+        List<CustomerStatusEvent> items = subscriber.getItems();
+        assertEquals(1, items.size());
+        assertEquals(CustomerStatus.SUSPENDED, items.get(0).status());
+        assertEquals(CustomerStatus.ACTIVE, items.get(0).previousStatus());
+        assertEquals(new CustomerCursor(CHANGED_AT, CUSTOMER_ID).encode(), items.get(0).eventId());
+    }
+
+    @Test
+    void testOverflow_disconnect_completesSlowSubscriber() {
+        AssertSubscriber<CustomerStatusEvent> subscriber =
+                stream.subscribe(null).subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        for (int i = 0; i < 3; i++) {
+            stream.onCustomerChangeNotification(suspended(i));
+        }
+
+        assertTrue(stream.subscribers.isEmpty());
+        subscriber.request(10);
+        subscriber.assertCompleted();
+        assertEquals(2, subscriber.getItems().size());
+        assertEquals(1.0, stream.disconnectedCounter.count());
+    }
+
+    @Test
+    void testOverflow_drop_keepsSubscriberAndDropsNewEvents() {
+        stream.overflowPolicy = StreamOverflowPolicy.DROP;
+        AssertSubscriber<CustomerStatusEvent> subscriber =
+                stream.subscribe(null).subscribe().withSubscriber(AssertSubscriber.create(0));
+
+        for (int i = 0; i < 3; i++) {
+            stream.onCustomerChangeNotification(suspended(i));
+        }
+        subscriber.request(10);
+        stream.onCustomerChangeNotification(suspended(3));
+
+        assertEquals(1, stream.subscribers.size());
+        assertEquals(List.of(CHANGED_AT, CHANGED_AT.plusMinutes(1), CHANGED_AT.plusMinutes(3)),
+                subscriber.getItems().stream().map(CustomerStatusEvent::changedAt).toList());
+        assertEquals(1.0, stream.droppedCounter.count());
+    }
+
+    @Test
+    void testSubscribe_lastEventId_replaysBeforeLiveEvents() {
+        CustomerCursor lastSeen = new CustomerCursor(CHANGED_AT, CUSTOMER_ID);
+        CustomerView replayed = new CustomerView(UUID.randomUUID(), null, null, null, "87654321", null, null, null,
+                CustomerStatus.INACTIVE, null, CHANGED_AT.plusSeconds(1), 0L);
+        when(customerRepository.findChangedAfter(eq(new CustomerCursor(CHANGED_AT.minusSeconds(5), CUSTOMER_ID)),
+                any(LocalDateTime.class), eq(100))).thenReturn(List.of(replayed));
+
+        AssertSubscriber<CustomerStatusEvent> subscriber =
+                stream.subscribe(lastSeen.encode()).subscribe().withSubscriber(AssertSubscriber.create(10));
+        stream.onCustomerChangeNotification(suspended(1));
+
+        List<CustomerStatusEvent> items = subscriber.getItems();
+        assertEquals(2, items.size());
+        assertEquals(CustomerStatus.INACTIVE, items.get(0).status());
+        assertNull(items.get(0).previousStatus());
+        assertEquals("snapshot", items.get(0).eventName());
+        assertEquals(CustomerStatus.SUSPENDED, items.get(1).status());
+        assertEquals("status", items.get(1).eventName());
+    }
+
+    @Test
+    void testSubscribe_replayAtLimit_completesAfterReplay() {
+        stream.replayLimit = 1;
+        CustomerView replayed = new CustomerView(CUSTOMER_ID, null, null, null, "12345678", null, null, null,
+                CustomerStatus.ACTIVE, null, CHANGED_AT, 0L);
+        when(customerRepository.findChangedAfter(any(), any(), eq(1))).thenReturn(List.of(replayed));
+
+        AssertSubscriber<CustomerStatusEvent> subscriber = stream.subscribe(new CustomerCursor(CHANGED_AT, CUSTOMER_ID)
+                .encode()).subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        subscriber.assertCompleted();
+        assertEquals(1, subscriber.getItems().size());
+        assertTrue(stream.subscribers.isEmpty());
+    }
+
+    @Test
+    void testSubscribe_fullChunkOfOldRows_resumesStrictlyAfterLastRow() {
+        stream.replayLimit = 2;
+        CustomerView first = new CustomerView(UUID.randomUUID(), null, null, null, "11111111", null, null, null,
+                CustomerStatus.ACTIVE, null, CHANGED_AT, 0L);
+        CustomerView second = new CustomerView(UUID.randomUUID(), null, null, null, "22222222", null, null, null,
+                CustomerStatus.ACTIVE, null, CHANGED_AT, 0L);
+        when(customerRepository.findChangedAfter(eq(new CustomerCursor(CHANGED_AT.minusSeconds(5), CUSTOMER_ID)),
+                any(LocalDateTime.class), eq(2))).thenReturn(List.of(first, second));
+        when(customerRepository.findChangedAfter(eq(new CustomerCursor(CHANGED_AT, second.customerId())),
+                any(LocalDateTime.class), eq(2))).thenReturn(List.of());
+
+        List<CustomerStatusEvent> chunk = stream.subscribe(new CustomerCursor(CHANGED_AT, CUSTOMER_ID).encode())
+                .subscribe().withSubscriber(AssertSubscriber.create(10)).assertCompleted().getItems();
+        AssertSubscriber<CustomerStatusEvent> resumed = stream.subscribe(chunk.get(1).eventId())
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        assertTrue(chunk.get(1).settled());
+        assertTrue(resumed.getItems().isEmpty());
+        assertEquals(1, stream.subscribers.size());
+    }
+
+    @Test
+    void testSubscribe_liveEventId_isNotSettled() {
+        CustomerStatusEvent live = CustomerStatusEvent.of(suspended(0));
+
+        assertFalse(live.settled());
+        assertEquals(new CustomerCursor(CHANGED_AT, CUSTOMER_ID), CustomerStatusEvent.cursorOf(live.eventId()));
+        assertFalse(CustomerStatusEvent.isSettled(live.eventId()));
+    }
+
+    @Test
+    void testResync_completesAllSubscribers() {
+        AssertSubscriber<CustomerStatusEvent> subscriber =
+                stream.subscribe(null).subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        stream.onCustomerChangeNotification(CustomerChangeNotification.resyncAll());
+
+        subscriber.assertCompleted();
+        assertTrue(stream.subscribers.isEmpty());
+    }
+
+    @Test
+    void testSubscribe_atCapacity_throws() {
+        stream.maxSubscribers = 1;
+        stream.subscribe(null);
+
+        assertThrows(StreamCapacityException.class, () -> stream.subscribe(null));
+        verify(customerRepository, never()).findChangedAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void testSubscribe_invalidLastEventId_throws() {
+        assertThrows(IllegalArgumentException.class, () -> stream.subscribe("not-an-id"));
+        assertTrue(stream.subscribers.isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package com.challengebank.customer.messaging;
+
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOutboxSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static CustomerOutboxMessage message(long eventId) {
+        return new CustomerOutboxMessage(eventId, CustomerChangeType.DELETED,
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440000"), DocumentType.DNI, "12345678",
+                CustomerStatus.ACTIVE, CustomerStatus.INACTIVE, 4L, LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+
+    @Test
+    void testPublish_appendsOneLinePerEvent() throws Exception {
+        FileOutboxSink sink = new FileOutboxSink();
+        sink.objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        sink.path = tempDir.resolve("outbox.ndjson").toString();
+
+        sink.publish(List.of(message(1)));
+        sink.publish(List.of(message(2), message(3)));
+
+        List<String> lines = Files.readAllLines(tempDir.resolve("outbox.ndjson"));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"eventId\":1,\"type\":\"DELETED\""));
+        assertTrue(lines.get(2).contains("\"customerVersion\":4"));
+        assertTrue(lines.get(2).contains("\"occurredAt\":\"2025-01-01T10:00:00\""));
+    }
+}
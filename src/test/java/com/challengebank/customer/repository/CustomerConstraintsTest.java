@@ -0,0 +1,44 @@
+package com.challengebank.customer.repository;
+
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerConstraintsTest {
+
+    private ConstraintViolationException violation(String message, String constraintName) {
+        return new ConstraintViolationException("could not execute statement", new SQLException(message), constraintName);
+    }
+
+    @Test
+    void testViolatedUniqueConstraint_postgresName() {
+        assertEquals(Optional.of(CustomerConstraints.DOCUMENT),
+                CustomerConstraints.violatedUniqueConstraint(violation("duplicate key", "uk_customers_document")));
+    }
+
+    @Test
+    void testViolatedUniqueConstraint_h2IndexName() {
+        assertEquals(Optional.of(CustomerConstraints.EMAIL),
+                CustomerConstraints.violatedUniqueConstraint(violation("duplicate", "PUBLIC.UK_CUSTOMERS_EMAIL_INDEX_6")));
+    }
+
+    @Test
+    void testViolatedUniqueConstraint_fallsBackToSqlMessage() {
+        ConstraintViolationException violation = violation(
+                "Unique index or primary key violation: \"PUBLIC.UK_CUSTOMERS_DOCUMENT_INDEX_6 ON PUBLIC.CUSTOMERS\"", null);
+
+        assertEquals(Optional.of(CustomerConstraints.DOCUMENT),
+                CustomerConstraints.violatedUniqueConstraint(new PersistenceException(violation)));
+    }
+
+    @Test
+    void testViolatedUniqueConstraint_unrelated() {
+        assertTrue(CustomerConstraints.violatedUniqueConstraint(violation("check", "chk_customers_status")).isEmpty());
+        assertTrue(CustomerConstraints.violatedUniqueConstraint(new PersistenceException("timeout")).isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+package com.challengebank.customer.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCursorTest {
+
+    @Test
+    void testEncodeDecode_roundTrip() {
+        CustomerCursor cursor = new CustomerCursor(LocalDateTime.of(2025, 3, 4, 5, 6, 7, 123456000),
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440000"));
+
+        CustomerCursor decoded = CustomerCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void testEncode_isUrlSafe() {
+        CustomerCursor cursor = new CustomerCursor(LocalDateTime.of(2025, 1, 1, 0, 0), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("+"));
+        assertFalse(token.contains("/"));
+        assertFalse(token.contains("="));
+    }
+
+    @Test
+    void testDecode_notBase64() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> CustomerCursor.decode("***"));
+        assertEquals("Invalid cursor: ***", ex.getMessage());
+    }
+
+    @Test
+    void testDecode_missingSeparator() {
+        String token = Base64.getUrlEncoder().encodeToString("2025-01-01T00:00".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> CustomerCursor.decode(token));
+    }
+
+    @Test
+    void testDecode_invalidTimestamp() {
+        String token = Base64.getUrlEncoder().encodeToString(("yesterday|" + UUID.randomUUID()).getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> CustomerCursor.decode(token));
+    }
+}
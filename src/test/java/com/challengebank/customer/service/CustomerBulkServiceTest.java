@@ -0,0 +1,241 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.event.CustomerChangedEvent;
+import com.challengebank.customer.exception.DuplicateCustomerException;
+import com.challengebank.customer.mapper.CustomerMapper;
+import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BulkCreateResponse;
+import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.BulkCreateOutcome;
+import com.challengebank.customer.model.enums.CustomerChangeType;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.projection.CustomerDocumentKey;
+import com.challengebank.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.event.Event;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerBulkServiceTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    @Mock
+    CustomerMapper customerMapper;
+
+    @Mock
+    Event<CustomerChangedEvent> customerChangedEvent;
+
+    @Mock
+    MeterRegistry meterRegistry;
+
+    @Mock
+    Counter successCounter;
+
+    @Mock
+    Counter failureCounter;
+
+    @InjectMocks
+    CustomerBulkService customerBulkService;
+
+    @BeforeAll
+    static void initValidator() {
+        validatorFactory = Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistry.counter("customer.operations.success")).thenReturn(successCounter);
+        when(meterRegistry.counter("customer.operations.failure")).thenReturn(failureCounter);
+        customerBulkService.validator = validatorFactory.getValidator();
+        customerBulkService.maxBulkSize = 10;
+        customerBulkService.chunkSize = 2;
+        customerBulkService.initMetrics();
+    }
+
+    private CreateCustomerRequest buildRequest(String documentId, String email) {
+        CreateCustomerRequest request = new CreateCustomerRequest();
+        request.firstName = "John";
+        request.lastName = "Doe";
+        request.documentType = DocumentType.DNI;
+        request.documentId = documentId;
+        request.email = email;
+        return request;
+    }
+
+    private void persistAssignsIds() {
+        when(customerMapper.toEntity(any(CreateCustomerRequest.class))).thenAnswer(invocation -> {
+            CreateCustomerRequest request = invocation.getArgument(0);
+            Customer customer = new Customer();
+            customer.documentType = request.documentType;
+            customer.documentId = request.documentId;
+            customer.email = request.email;
+            customer.status = CustomerStatus.PENDING;
+            return customer;
+        });
+        doAnswer(invocation -> {
+            ((Customer) invocation.getArgument(0)).customerId = UUID.randomUUID();
+            return null;
+        }).when(customerRepository).persist(any(Customer.class));
+    }
+
+    @Test
+    void testCreateCustomers_reportsOutcomePerRowInInputOrder() {
+        persistAssignsIds();
+        when(customerRepository.findExistingDocuments(anyCollection()))
+                .thenReturn(List.of(new CustomerDocumentKey(DocumentType.DNI, "EXIST0001")))
+                .thenReturn(Collections.emptyList());
+        when(customerRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of("taken@test.com"));
+
+        List<CreateCustomerRequest> requests = new ArrayList<>();
+        requests.add(buildRequest("NEW000001", "a@test.com"));
+        requests.add(buildRequest("EXIST0001", "b@test.com"));
+        requests.add(buildRequest("NEW000002", "taken@test.com"));
+        requests.add(null);
+        requests.add(buildRequest("NEW000001", "c@test.com"));
+        requests.add(buildRequest("123", "not-an-email"));
+
+        BulkCreateResponse response = customerBulkService.createCustomers(requests);
+
+        assertEquals(6, response.results.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, response.results.get(i).index);
+        }
+        assertEquals(BulkCreateOutcome.CREATED, response.results.get(0).outcome);
+        assertNotNull(response.results.get(0).customerId);
+        assertEquals(BulkCreateOutcome.DUPLICATE, response.results.get(1).outcome);
+        assertTrue(response.results.get(1).message.contains("DNI:EXIST0001"));
+        assertEquals(BulkCreateOutcome.DUPLICATE, response.results.get(2).outcome);
+        assertTrue(response.results.get(2).message.contains("taken@test.com"));
+        assertEquals(BulkCreateOutcome.INVALID, response.results.get(3).outcome);
+        assertEquals(BulkCreateOutcome.DUPLICATE, response.results.get(4).outcome);
+        assertEquals(BulkCreateOutcome.INVALID, response.results.get(5).outcome);
+        assertEquals(2, response.results.get(5).errors.size());
+
+        assertEquals(1, response.createdCount);
+        assertEquals(3, response.duplicateCount);
+        assertEquals(2, response.invalidCount);
+        verify(customerRepository, times(1)).persist(any(Customer.class));
+        verify(customerRepository, times(3)).flushAndClear();
+        verify(customerChangedEvent).fire(argThat(e -> e.type() == CustomerChangeType.CREATED));
+        verify(successCounter).increment(1);
+        verify(failureCounter).increment(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateCustomers_queriesOnlyValidRowsOfEachChunk() {
+        persistAssignsIds();
+        List<Collection<String>> documentQueries = new ArrayList<>();
+        when(customerRepository.findExistingDocuments(anyCollection())).thenAnswer(invocation -> {
+            documentQueries.add(List.copyOf((Collection<String>) invocation.getArgument(0)));
+            return Collections.emptyList();
+        });
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+
+        BulkCreateResponse response = customerBulkService.createCustomers(List.of(
+                buildRequest("NEW000001", "a@test.com"),
+                buildRequest("1", "b@test.com"),
+                buildRequest("NEW000003", "c@test.com")));
+
+        assertEquals(2, response.createdCount);
+        assertEquals(List.of(List.of("NEW000001"), List.of("NEW000003")), documentQueries);
+    }
+
+    @Test
+    void testCreateCustomers_keyCommittedElsewhere_reportedPerRowInsteadOfConflict() {
+        persistAssignsIds();
+        when(customerRepository.findExistingDocuments(Set.of("NEW000001", "NEW000002")))
+                .thenReturn(List.of(new CustomerDocumentKey(DocumentType.DNI, "NEW000002")));
+        when(customerRepository.findExistingEmails(Set.of("a@test.com", "b@test.com")))
+                .thenReturn(Collections.emptyList());
+
+        BulkCreateResponse response = customerBulkService.createCustomers(List.of(
+                buildRequest("NEW000001", "a@test.com"),
+                buildRequest("NEW000002", "b@test.com")));
+
+        assertEquals(1, response.createdCount);
+        assertEquals(BulkCreateOutcome.DUPLICATE, response.results.get(1).outcome);
+        verify(customerRepository, times(1)).persist(any(Customer.class));
+    }
+
+    @Test
+    void testCreateCustomers_chunkWithoutValidRows_skipsLookups() {
+        BulkCreateResponse response = customerBulkService.createCustomers(List.of(buildRequest("1", "x")));
+
+        assertEquals(1, response.invalidCount);
+        verify(customerRepository, never()).findExistingDocuments(anyCollection());
+        verify(customerRepository, never()).persist(any(Customer.class));
+        verifyNoInteractions(customerChangedEvent);
+    }
+
+    @Test
+    void testCreateCustomers_concurrentInsertOnFlush_reportsConflict() {
+        persistAssignsIds();
+        when(customerRepository.findExistingDocuments(anyCollection())).thenReturn(Collections.emptyList());
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        doThrow(new ConstraintViolationException("could not execute batch", new SQLException("duplicate key"),
+                "uk_customers_email")).when(customerRepository).flushAndClear();
+
+        DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
+                () -> customerBulkService.createCustomers(List.of(buildRequest("NEW000001", "a@test.com"))));
+        assertEquals("email", ex.getField());
+        verify(failureCounter).increment();
+        verify(successCounter, never()).increment(anyDouble());
+    }
+
+    @Test
+    void testCreateCustomers_exceedsMaxSize() {
+        List<CreateCustomerRequest> requests = Collections.nCopies(11, buildRequest("NEW000001", "a@test.com"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> customerBulkService.createCustomers(requests));
+        assertEquals("Bulk size 11 exceeds the maximum of 10", ex.getMessage());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testCreateCustomers_empty() {
+        assertThrows(IllegalArgumentException.class, () -> customerBulkService.createCustomers(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> customerBulkService.createCustomers(null));
+    }
+}
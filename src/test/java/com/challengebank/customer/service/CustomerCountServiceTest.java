@@ -0,0 +1,107 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.model.enums.CountMode;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCountServiceTest {
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    @InjectMocks
+    CustomerCountService countService;
+
+    @BeforeEach
+    void setUp() {
+        countService.countCacheTtl = Duration.ofMinutes(1);
+        countService.dbKind = "postgresql";
+    }
+
+    @Test
+    void testExactCount_allStatuses() {
+        when(customerRepository.count()).thenReturn(42L);
+
+        assertEquals(42L, countService.count(CountMode.EXACT, null));
+    }
+
+    @Test
+    void testExactCount_byStatus() {
+        when(customerRepository.countByStatus(CustomerStatus.ACTIVE)).thenReturn(7L);
+
+        assertEquals(7L, countService.count(CountMode.EXACT, CustomerStatus.ACTIVE));
+    }
+
+    @Test
+    void testEstimatedCount_usesPlannerStatistics() {
+        when(customerRepository.estimateCount()).thenReturn(OptionalLong.of(1000L));
+        when(customerRepository.estimateCountByStatus(CustomerStatus.SUSPENDED)).thenReturn(OptionalLong.of(12L));
+
+        assertEquals(1000L, countService.count(CountMode.ESTIMATED, null));
+        assertEquals(12L, countService.count(CountMode.ESTIMATED, CustomerStatus.SUSPENDED));
+        verify(customerRepository, never()).count();
+        verify(customerRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    void testEstimatedCount_noStatistics_fallsBackToExact() {
+        when(customerRepository.estimateCount()).thenReturn(OptionalLong.empty());
+        when(customerRepository.count()).thenReturn(3L);
+
+        assertEquals(3L, countService.count(CountMode.ESTIMATED, null));
+    }
+
+    @Test
+    void testEstimatedCount_nonPostgres_fallsBackToExact() {
+        countService.dbKind = "h2";
+        when(customerRepository.count()).thenReturn(3L);
+
+        assertEquals(3L, countService.count(CountMode.ESTIMATED, null));
+        verify(customerRepository, never()).estimateCount();
+    }
+
+    @Test
+    void testCachedCount_reusesValueWithinTtl() {
+        when(customerRepository.countByStatus(CustomerStatus.ACTIVE)).thenReturn(5L, 6L);
+
+        assertEquals(5L, countService.count(CountMode.CACHED, CustomerStatus.ACTIVE));
+        assertEquals(5L, countService.count(CountMode.CACHED, CustomerStatus.ACTIVE));
+        verify(customerRepository, times(1)).countByStatus(CustomerStatus.ACTIVE);
+    }
+
+    @Test
+    void testCachedCount_refreshesAfterTtl() {
+        countService.countCacheTtl = Duration.ZERO;
+        when(customerRepository.count()).thenReturn(5L, 6L);
+
+        assertEquals(5L, countService.count(CountMode.CACHED, null));
+        assertEquals(6L, countService.count(CountMode.CACHED, null));
+    }
+
+    @Test
+    void testCachedCount_keyedByStatus() {
+        when(customerRepository.count()).thenReturn(10L);
+        when(customerRepository.countByStatus(CustomerStatus.PENDING)).thenReturn(2L);
+
+        assertEquals(10L, countService.count(CountMode.CACHED, null));
+        assertEquals(2L, countService.count(CountMode.CACHED, CustomerStatus.PENDING));
+    }
+
+    @Test
+    void testCountNone_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> countService.count(CountMode.NONE, null));
+    }
+}
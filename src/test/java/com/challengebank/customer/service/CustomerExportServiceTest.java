@@ -0,0 +1,150 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.mapper.CustomerMapper;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.enums.ExportFormat;
+import com.challengebank.customer.model.enums.ExportMode;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerExportServiceTest {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("a1b2c3d4-e5f6-7890-abcd-ef1234567890");
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    CustomerExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new CustomerExportService();
+        exportService.customerRepository = customerRepository;
+        exportService.customerMapper = new CustomerMapper();
+        exportService.objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        exportService.fetchSize = 500;
+        exportService.dbKind = "h2";
+    }
+
+    private static CustomerView view(String firstName, String address) {
+        return new CustomerView(CUSTOMER_ID, firstName, "Doe", DocumentType.DNI, "12345678", "john@example.com",
+                null, LocalDate.of(1990, 1, 15), CustomerStatus.ACTIVE, LocalDateTime.of(2025, 1, 1, 10, 0), null, 0L);
+    }
+
+    @Test
+    void testExport_ndjson_writesOneObjectPerLine() throws Exception {
+        when(customerRepository.streamForExport(null, null, 500))
+                .thenReturn(Stream.of(view("John", null), view("Jane", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ExportFormat.NDJSON, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"customerId\":\"" + CUSTOMER_ID + "\",\"firstName\":\"John\""));
+        assertTrue(lines[1].contains("\"firstName\":\"Jane\""));
+        assertFalse(lines[0].contains("phone"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    void testExport_csv_writesHeaderAndEscapesFields() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(customerRepository.streamForExport(CustomerStatus.ACTIVE, since, 500))
+                .thenReturn(Stream.of(view("John, \"Jr\"", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ExportFormat.CSV, CustomerStatus.ACTIVE, since, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, rows);
+        assertEquals(CustomerExportService.CSV_HEADER, lines[0]);
+        assertEquals(CUSTOMER_ID + ",\"John, \"\"Jr\"\"\",Doe,DNI,12345678,john@example.com,,1990-01-15,ACTIVE,"
+                + "2025-01-01T10:00,", lines[1]);
+    }
+
+    @Test
+    void testExport_closesCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(customerRepository.streamForExport(null, null, 500))
+                .thenReturn(Stream.<CustomerView>empty().onClose(() -> closed.set(true)));
+
+        long rows = exportService.export(ExportFormat.CSV, null, null, new ByteArrayOutputStream());
+
+        assertEquals(0, rows);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testCsvField_plainValueUnquoted() {
+        assertEquals("plain", CustomerExportService.csvField("plain"));
+        assertEquals("\"a\nb\"", CustomerExportService.csvField("a\nb"));
+    }
+
+    @Test
+    void testCopySql_withFilters() {
+        String sql = CustomerExportService.copySql(ExportFormat.CSV, CustomerStatus.SUSPENDED,
+                LocalDateTime.of(2025, 3, 1, 8, 30));
+
+        assertTrue(sql.startsWith("COPY (SELECT customer_id AS \"customerId\""));
+        assertTrue(sql.contains(" FROM customers WHERE status = 'SUSPENDED' AND updated_at >= TIMESTAMP '2025-03-01T08:30'"));
+        assertTrue(sql.endsWith(" ORDER BY created_at, customer_id) TO STDOUT (FORMAT csv, HEADER)"));
+    }
+
+    @Test
+    void testCopySql_binaryWithoutFilters() {
+        String sql = CustomerExportService.copySql(ExportFormat.BINARY, null, null);
+
+        assertFalse(sql.contains("WHERE"));
+        assertTrue(sql.endsWith("TO STDOUT (FORMAT binary)"));
+    }
+
+    @Test
+    void testRequireSupported_rejectsUnsupportedCombinations() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.requireSupported(ExportFormat.NDJSON, ExportMode.COPY));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.requireSupported(ExportFormat.BINARY, ExportMode.STREAM));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.requireSupported(ExportFormat.BINARY, ExportMode.COPY));
+
+        exportService.dbKind = "postgresql";
+        assertDoesNotThrow(() -> exportService.requireSupported(ExportFormat.BINARY, ExportMode.COPY));
+        assertDoesNotThrow(() -> exportService.requireSupported(ExportFormat.CSV, ExportMode.COPY));
+    }
+
+    @Test
+    void testCopy_nonPostgres_fallsBackToCursorCsv() throws Exception {
+        when(customerRepository.streamForExport(null, null, 500)).thenReturn(Stream.of(view("John", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.copy(ExportFormat.CSV, null, null, out);
+
+        assertEquals(1, rows);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith(CustomerExportService.CSV_HEADER + "\n"));
+    }
+}
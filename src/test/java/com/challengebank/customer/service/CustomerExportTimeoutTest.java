@@ -0,0 +1,51 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.model.enums.ExportFormat;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(CustomerExportTimeoutTest.ShortDefaultTimeout.class)
+class CustomerExportTimeoutTest {
+
+    public static class ShortDefaultTimeout implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.transaction-manager.default-transaction-timeout", "1s",
+                    "customer.export.timeout", "30");
+        }
+    }
+
+    @Inject
+    CustomerExportService exportService;
+
+    // A client slower than the default transaction timeout: the export must still commit and return.
+    @Test
+    void testExport_slowerThanDefaultTransactionTimeout_isNotCutOff() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.write(bytes, offset, length);
+            }
+        };
+
+        long rows = assertDoesNotThrow(() -> exportService.export(ExportFormat.CSV, null, null, out));
+
+        assertTrue(rows >= 0);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith(CustomerExportService.CSV_HEADER));
+    }
+}
@@ -0,0 +1,249 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.config.MetricsConfig;
+import com.challengebank.customer.exception.ImportNotFoundException;
+import com.challengebank.customer.model.dto.response.CustomerImportResponse;
+import com.challengebank.customer.model.entity.CustomerImport;
+import com.challengebank.customer.model.enums.ImportFormat;
+import com.challengebank.customer.model.enums.ImportStatus;
+import com.challengebank.customer.repository.CustomerImportRepository;
+import com.challengebank.customer.repository.CustomerImportStaging;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportServiceTest {
+
+    private static final UUID IMPORT_ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+
+    @Mock
+    CustomerImportRepository importRepository;
+
+    @Mock
+    CustomerImportStaging staging;
+
+    @Mock
+    MetricsConfig metricsConfig;
+
+    @Mock
+    CustomerNotFoundCache notFoundCache;
+
+    CustomerImportService importService;
+
+    CustomerImport job;
+
+    @BeforeEach
+    void setUp() {
+        importService = new CustomerImportService();
+        importService.importRepository = importRepository;
+        importService.staging = staging;
+        importService.metricsConfig = metricsConfig;
+        importService.notFoundCache = notFoundCache;
+        importService.objectMapper = new ObjectMapper();
+        importService.dbKind = "postgresql";
+        importService.abandonedAfter = Duration.ofMinutes(5);
+        importService.executor = Runnable::run;
+
+        job = new CustomerImport();
+        job.importId = IMPORT_ID;
+        job.status = ImportStatus.LOADING;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyUpdatesToJob() {
+        when(importRepository.update(eq(IMPORT_ID), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Consumer.class).accept(job);
+            return Optional.of(job);
+        });
+    }
+
+    @Test
+    void testStartImport_csv_stagesRowsAfterHeaderAndMerges() throws Exception {
+        when(importRepository.create(ImportFormat.CSV)).thenReturn(job);
+        applyUpdatesToJob();
+        AtomicReference<String> staged = new AtomicReference<>();
+        when(staging.load(eq(IMPORT_ID), any(), eq(false))).thenAnswer(invocation -> {
+            staged.set(new String(invocation.getArgument(1, InputStream.class).readAllBytes(), StandardCharsets.UTF_8));
+            return 2L;
+        });
+        when(staging.validate(IMPORT_ID)).thenReturn(1L);
+        when(staging.merge(IMPORT_ID)).thenReturn(0L);
+
+        CustomerImportResponse response = importService.startImport(ImportFormat.CSV, body(
+                "\uFEFFfirstName,lastName,documentType,documentId,email,phone,dateOfBirth,address\r\n"
+                        + "John,Doe,DNI,12345678,john@example.com,,1990-01-15,\"Street 1,\nFloor 2\"\r\n"
+                        + "Jane,Doe,DNI,1,jane@example.com,,,\r\n"));
+
+        assertEquals(IMPORT_ID, response.importId);
+        assertEquals(2L, response.totalRows);
+        assertTrue(staged.get().startsWith("John,Doe,DNI,12345678"));
+        assertTrue(staged.get().contains("\"Street 1,\nFloor 2\""));
+        assertEquals(ImportStatus.COMPLETED, job.status);
+        assertEquals(1L, job.importedRows);
+        assertEquals(1L, job.rejectedRows);
+        assertNotNull(job.finishedAt);
+        verify(staging).drop(IMPORT_ID);
+        verify(notFoundCache).evictAll();
+        verify(metricsConfig).refreshCounts();
+    }
+
+    @Test
+    void testStartImport_csvWrongHeader_failsJob() throws Exception {
+        when(importRepository.create(ImportFormat.CSV)).thenReturn(job);
+        applyUpdatesToJob();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.startImport(ImportFormat.CSV, body("name,document\nJohn,123\n")));
+
+        assertEquals(ImportStatus.FAILED, job.status);
+        verify(staging, never()).load(any(), any(), anyBoolean());
+        verify(staging).drop(IMPORT_ID);
+    }
+
+    @Test
+    void testStartImport_ndjson_convertsLinesToCsvRecords() throws Exception {
+        when(importRepository.create(ImportFormat.NDJSON)).thenReturn(job);
+        applyUpdatesToJob();
+        AtomicReference<String> staged = new AtomicReference<>();
+        when(staging.load(eq(IMPORT_ID), any(), eq(true))).thenAnswer(invocation -> {
+            staged.set(new String(invocation.getArgument(1, InputStream.class).readAllBytes(), StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        importService.startImport(ImportFormat.NDJSON, body("""
+                {"firstName":"John","lastName":"O\\"Neil","documentType":"DNI","documentId":"12345678","email":"john@example.com"}
+
+                {not json
+                """));
+
+        assertEquals("John,\"O\"\"Neil\",DNI,12345678,john@example.com,,,,\n"
+                + ",,,,,,,,line: not valid JSON\n", staged.get());
+    }
+
+    @Test
+    void testStartImport_copyError_returnsBadRequestAndFailsJob() throws Exception {
+        when(importRepository.create(ImportFormat.NDJSON)).thenReturn(job);
+        applyUpdatesToJob();
+        when(staging.load(eq(IMPORT_ID), any(), eq(true))).thenThrow(new SQLException("extra data after last expected column"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> importService.startImport(ImportFormat.NDJSON, body("{}\n")));
+
+        assertTrue(ex.getMessage().contains("extra data"));
+        assertEquals(ImportStatus.FAILED, job.status);
+        assertEquals("extra data after last expected column", job.error);
+        verify(staging).drop(IMPORT_ID);
+    }
+
+    @Test
+    void testStartImport_notPostgres_throwsIllegalArgument() {
+        importService.dbKind = "h2";
+
+        assertThrows(IllegalArgumentException.class, () -> importService.startImport(ImportFormat.CSV, body("")));
+
+        verifyNoInteractions(importRepository, staging);
+    }
+
+    @Test
+    void testProcess_mergeFails_marksJobFailed() throws Exception {
+        applyUpdatesToJob();
+        when(staging.validate(IMPORT_ID)).thenReturn(0L);
+        when(staging.merge(IMPORT_ID)).thenThrow(new SQLException("deadlock detected"));
+
+        importService.process(IMPORT_ID);
+
+        assertEquals(ImportStatus.FAILED, job.status);
+        assertEquals("deadlock detected", job.error);
+        verify(staging).drop(IMPORT_ID);
+        verify(metricsConfig, never()).refreshCounts();
+    }
+
+    @Test
+    void testSweep_jobLeftByRestart_isFailedAndStagingDropped() throws Exception {
+        job.status = ImportStatus.MERGING;
+        job.heartbeatAt = LocalDateTime.now().minusMinutes(30);
+        when(importRepository.findAbandoned(any())).thenReturn(List.of(IMPORT_ID));
+        applyUpdatesToJob();
+
+        importService.sweep();
+
+        assertEquals(ImportStatus.FAILED, job.status);
+        assertTrue(job.error.contains("MERGING"));
+        assertNotNull(job.finishedAt);
+        verify(staging).drop(IMPORT_ID);
+        verify(importRepository, never()).heartbeat(any(), any());
+    }
+
+    @Test
+    void testSweep_jobRunningHere_getsHeartbeatAndIsKept() throws Exception {
+        job.status = ImportStatus.VALIDATING;
+        job.createdAt = LocalDateTime.now().minusMinutes(30);
+        importService.running.add(IMPORT_ID);
+        when(importRepository.findAbandoned(any())).thenReturn(List.of(IMPORT_ID));
+
+        importService.sweep();
+
+        assertEquals(ImportStatus.VALIDATING, job.status);
+        verify(importRepository).heartbeat(eq(Set.of(IMPORT_ID)), any());
+        verify(importRepository, never()).update(any(), any());
+        verify(staging, never()).drop(any());
+    }
+
+    @Test
+    void testSweep_jobHeartbeatRefreshedSinceQuery_isKept() throws Exception {
+        job.status = ImportStatus.VALIDATING;
+        job.heartbeatAt = LocalDateTime.now();
+        when(importRepository.findAbandoned(any())).thenReturn(List.of(IMPORT_ID));
+        applyUpdatesToJob();
+
+        importService.sweep();
+
+        assertEquals(ImportStatus.VALIDATING, job.status);
+        verify(staging, never()).drop(any());
+    }
+
+    @Test
+    void testProcess_completed_stopsHeartbeat() throws Exception {
+        applyUpdatesToJob();
+        importService.running.add(IMPORT_ID);
+
+        importService.process(IMPORT_ID);
+
+        assertFalse(importService.running.contains(IMPORT_ID));
+    }
+
+    @Test
+    void testGetImport_notFound_throwsImportNotFound() {
+        when(importRepository.find(IMPORT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(ImportNotFoundException.class, () -> importService.getImport(IMPORT_ID));
+    }
+}
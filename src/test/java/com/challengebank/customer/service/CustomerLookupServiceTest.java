@@ -0,0 +1,132 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.mapper.CustomerMapper;
+import com.challengebank.customer.model.dto.request.CustomerLookupRequest;
+import com.challengebank.customer.model.dto.request.DocumentLookupRequest;
+import com.challengebank.customer.model.dto.response.CustomerLookupResponse;
+import com.challengebank.customer.model.dto.response.CustomerResponse;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerLookupServiceTest {
+
+    @Mock
+    CustomerRepository customerRepository;
+
+    @Mock
+    CustomerMapper customerMapper;
+
+    @InjectMocks
+    CustomerLookupService customerLookupService;
+
+    @BeforeEach
+    void setUp() {
+        customerLookupService.maxLookupSize = 5;
+    }
+
+    @Test
+    void testLookupCustomers_byId_returnsResultsInInputOrder() {
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        CustomerView view = view(found, DocumentType.DNI, "12345678");
+        CustomerResponse response = new CustomerResponse();
+        when(customerRepository.findViewsByIds(Set.of(missing, found))).thenReturn(List.of(view));
+        when(customerMapper.toResponse(view)).thenReturn(response);
+
+        CustomerLookupResponse result = customerLookupService.lookupCustomers(request(List.of(missing, found, found)));
+
+        assertEquals(3, result.customers.size());
+        assertEquals(missing, result.customers.get(0).customerId);
+        assertFalse(result.customers.get(0).found);
+        assertNull(result.customers.get(0).customer);
+        assertEquals(1, result.customers.get(1).index);
+        assertTrue(result.customers.get(1).found);
+        assertSame(response, result.customers.get(1).customer);
+        assertTrue(result.customers.get(2).found);
+        assertEquals(2, result.foundCount);
+        assertEquals(1, result.notFoundCount);
+        assertTrue(result.documents.isEmpty());
+        verify(customerRepository).findViewsByIds(anyCollection());
+        verify(customerRepository, never()).findViewsByDocumentIds(any());
+    }
+
+    @Test
+    void testLookupCustomers_byDocument_matchesDocumentType() {
+        CustomerView dni = view(UUID.randomUUID(), DocumentType.DNI, "12345678");
+        when(customerRepository.findViewsByDocumentIds(Set.of("12345678"))).thenReturn(List.of(dni));
+        when(customerMapper.toResponse(dni)).thenReturn(new CustomerResponse());
+
+        CustomerLookupRequest request = new CustomerLookupRequest();
+        request.documents = List.of(document(DocumentType.DNI, "12345678"),
+                document(DocumentType.PASSPORT, "12345678"));
+        CustomerLookupResponse result = customerLookupService.lookupCustomers(request);
+
+        assertTrue(result.documents.get(0).found);
+        assertEquals(DocumentType.DNI, result.documents.get(0).documentType);
+        assertFalse(result.documents.get(1).found);
+        assertEquals(DocumentType.PASSPORT, result.documents.get(1).documentType);
+        assertEquals("12345678", result.documents.get(1).documentId);
+        assertEquals(1, result.foundCount);
+        assertEquals(1, result.notFoundCount);
+        verify(customerRepository, never()).findViewsByIds(any());
+    }
+
+    @Test
+    void testLookupCustomers_empty_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> customerLookupService.lookupCustomers(new CustomerLookupRequest()));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testLookupCustomers_exceedsMaxSize_throwsIllegalArgument() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        CustomerLookupRequest request = request(ids);
+        request.documents = List.of(document(DocumentType.DNI, "12345678"), document(DocumentType.DNI, "87654321"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> customerLookupService.lookupCustomers(request));
+        assertTrue(ex.getMessage().contains("6 exceeds the maximum of 5"));
+        verifyNoInteractions(customerRepository);
+    }
+
+    private CustomerLookupRequest request(List<UUID> customerIds) {
+        CustomerLookupRequest request = new CustomerLookupRequest();
+        request.customerIds = customerIds;
+        return request;
+    }
+
+    private DocumentLookupRequest document(DocumentType documentType, String documentId) {
+        DocumentLookupRequest document = new DocumentLookupRequest();
+        document.documentType = documentType;
+        document.documentId = documentId;
+        return document;
+    }
+
+    private CustomerView view(UUID customerId, DocumentType documentType, String documentId) {
+        return new CustomerView(customerId, null, null, documentType, documentId, null, null, null,
+                CustomerStatus.ACTIVE, null, null, 0L);
+    }
+}
@@ -1,21 +1,33 @@
 package com.challengebank.customer.service;
 
+import com.challengebank.customer.cache.CustomerLookupCoalescer;
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.event.CustomerChangedEvent;
 import com.challengebank.customer.exception.CustomerNotFoundException;
 import com.challengebank.customer.exception.DuplicateCustomerException;
+import com.challengebank.customer.exception.InvalidStatusTransitionException;
+import com.challengebank.customer.exception.PreconditionFailedException;
 import com.challengebank.customer.mapper.CustomerMapper;
 import com.challengebank.customer.model.dto.request.CreateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateCustomerRequest;
 import com.challengebank.customer.model.dto.request.UpdateStatusRequest;
+import com.challengebank.customer.model.dto.response.CustomerChangesResponse;
 import com.challengebank.customer.model.dto.response.CustomerPageResponse;
 import com.challengebank.customer.model.dto.response.CustomerResponse;
 import com.challengebank.customer.model.entity.Customer;
+import com.challengebank.customer.model.enums.CountMode;
+import com.challengebank.customer.model.enums.CustomerChangeType;
 import com.challengebank.customer.model.enums.CustomerStatus;
 import com.challengebank.customer.model.enums.DocumentType;
+import com.challengebank.customer.model.projection.CustomerStatusChange;
+import com.challengebank.customer.model.projection.CustomerView;
+import com.challengebank.customer.repository.CustomerCursor;
 import com.challengebank.customer.repository.CustomerRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Page;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,14 +35,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +62,18 @@ class CustomerServiceTest {
     @Mock
     CustomerMapper customerMapper;
 
+    @Mock
+    CustomerCountService customerCountService;
+
+    @Mock
+    CustomerNotFoundCache notFoundCache;
+
+    @Mock
+    CustomerLookupCoalescer lookupCoalescer;
+
+    @Mock
+    Event<CustomerChangedEvent> customerChangedEvent;
+
     @Mock
     MeterRegistry meterRegistry;
 
@@ -58,7 +90,13 @@ class CustomerServiceTest {
     void setUp() {
         when(meterRegistry.counter("customer.operations.success")).thenReturn(successCounter);
         when(meterRegistry.counter("customer.operations.failure")).thenReturn(failureCounter);
+        customerService.defaultCountMode = CountMode.EXACT;
+        customerService.dbKind = "h2";
+        customerService.changesSettleTime = Duration.ofSeconds(5);
         customerService.initMetrics();
+        // Runs every lookup directly; coalescing itself is covered by CustomerLookupCoalescerTest.
+        lenient().when(lookupCoalescer.load(any(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
     }
 
     @Test
@@ -79,114 +117,237 @@ class CustomerServiceTest {
         CustomerResponse expectedResponse = new CustomerResponse();
         expectedResponse.customerId = customer.customerId;
 
-        when(customerRepository.existsByDocumentTypeAndDocumentId(DocumentType.DNI, "12345678")).thenReturn(false);
-        when(customerRepository.existsByEmail("john@example.com")).thenReturn(false);
         when(customerMapper.toEntity(request)).thenReturn(customer);
         when(customerMapper.toResponse(customer)).thenReturn(expectedResponse);
 
         CustomerResponse result = customerService.createCustomer(request);
 
         assertEquals(expectedResponse.customerId, result.customerId);
-        verify(customerRepository).persist(customer);
+        verify(customerRepository).persistAndFlush(customer);
+        verify(customerRepository, never()).existsByDocumentTypeAndDocumentId(any(), anyString());
+        verify(customerRepository, never()).existsByEmail(anyString());
+        verify(customerChangedEvent).fire(CustomerChangedEvent.of(CustomerChangeType.CREATED, customer, null));
         verify(successCounter).increment();
     }
 
-    @Test
-    void testCreateCustomer_duplicateDocument() {
+    private CreateCustomerRequest buildDuplicateCandidate() {
         CreateCustomerRequest request = new CreateCustomerRequest();
         request.documentType = DocumentType.DNI;
         request.documentId = "12345678";
         request.email = "john@example.com";
+        return request;
+    }
+
+    private ConstraintViolationException uniqueViolation(String constraintName) {
+        return new ConstraintViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint"), constraintName);
+    }
 
-        when(customerRepository.existsByDocumentTypeAndDocumentId(DocumentType.DNI, "12345678")).thenReturn(true);
+    @Test
+    void testCreateCustomer_duplicateDocument() {
+        CreateCustomerRequest request = buildDuplicateCandidate();
+        Customer customer = new Customer();
+        when(customerMapper.toEntity(request)).thenReturn(customer);
+        doThrow(uniqueViolation("uk_customers_document")).when(customerRepository).persistAndFlush(customer);
 
         DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
                 () -> customerService.createCustomer(request));
         assertTrue(ex.getMessage().contains("DNI"));
         assertTrue(ex.getMessage().contains("12345678"));
+        assertEquals("documentId", ex.getField());
         verify(failureCounter).increment();
-        verify(customerRepository, never()).persist(any(Customer.class));
+        verifyNoInteractions(customerChangedEvent);
     }
 
     @Test
     void testCreateCustomer_duplicateEmail() {
-        CreateCustomerRequest request = new CreateCustomerRequest();
-        request.documentType = DocumentType.DNI;
-        request.documentId = "12345678";
-        request.email = "john@example.com";
-
-        when(customerRepository.existsByDocumentTypeAndDocumentId(DocumentType.DNI, "12345678")).thenReturn(false);
-        when(customerRepository.existsByEmail("john@example.com")).thenReturn(true);
+        CreateCustomerRequest request = buildDuplicateCandidate();
+        Customer customer = new Customer();
+        when(customerMapper.toEntity(request)).thenReturn(customer);
+        doThrow(uniqueViolation("PUBLIC.UK_CUSTOMERS_EMAIL_INDEX_6")).when(customerRepository).persistAndFlush(customer);
 
         DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
                 () -> customerService.createCustomer(request));
         assertTrue(ex.getMessage().contains("john@example.com"));
+        assertEquals("email", ex.getField());
         verify(failureCounter).increment();
-        verify(customerRepository, never()).persist(any(Customer.class));
+        verifyNoInteractions(customerChangedEvent);
     }
 
-    @SuppressWarnings("unchecked")
     @Test
-    void testGetAllCustomers_noFilter() {
-        PanacheQuery<Customer> query = mock(PanacheQuery.class);
+    void testCreateCustomer_otherConstraintViolation_isRethrown() {
+        CreateCustomerRequest request = buildDuplicateCandidate();
         Customer customer = new Customer();
-        customer.customerId = UUID.randomUUID();
-        List<Customer> customers = List.of(customer);
+        ConstraintViolationException violation = uniqueViolation("chk_customers_status");
+        when(customerMapper.toEntity(request)).thenReturn(customer);
+        doThrow(violation).when(customerRepository).persistAndFlush(customer);
+
+        PersistenceException ex = assertThrows(PersistenceException.class,
+                () -> customerService.createCustomer(request));
+        assertSame(violation, ex);
+        verify(failureCounter).increment();
+        verifyNoInteractions(customerChangedEvent);
+    }
+
+    private static CustomerView view(UUID customerId, LocalDateTime createdAt) {
+        return new CustomerView(customerId, null, null, null, null, null, null, null, null, createdAt, null, 0L);
+    }
+
+    @Test
+    void testGetAllCustomers_noFilter() {
+        List<CustomerView> customers = List.of(view(UUID.randomUUID(), null));
         CustomerPageResponse expectedPage = new CustomerPageResponse();
 
-        when(customerRepository.findAll()).thenReturn(query);
-        when(query.page(any(Page.class))).thenReturn(query);
-        when(query.list()).thenReturn(customers);
-        when(query.count()).thenReturn(1L);
-        when(customerMapper.toPageResponse(customers, 0, 10, 1L)).thenReturn(expectedPage);
+        when(customerRepository.findPage(null, 0, 11)).thenReturn(customers);
+        when(customerCountService.count(CountMode.EXACT, null)).thenReturn(1L);
+        when(customerMapper.toPageResponse(customers, 0, 10, 1L, false)).thenReturn(expectedPage);
 
-        CustomerPageResponse result = customerService.getAllCustomers(0, 10, null);
+        CustomerPageResponse result = customerService.getAllCustomers(0, 10, null, null);
 
         assertSame(expectedPage, result);
-        verify(customerRepository).findAll();
-        verify(customerRepository, never()).findByStatus(any());
+        verify(customerRepository, never()).findByIdOptional(any());
     }
 
-    @SuppressWarnings("unchecked")
     @Test
     void testGetAllCustomers_withStatusFilter() {
-        PanacheQuery<Customer> query = mock(PanacheQuery.class);
-        List<Customer> customers = List.of(new Customer());
+        List<CustomerView> customers = List.of(view(UUID.randomUUID(), null));
         CustomerPageResponse expectedPage = new CustomerPageResponse();
 
-        when(customerRepository.findByStatus(CustomerStatus.ACTIVE)).thenReturn(query);
-        when(query.page(any(Page.class))).thenReturn(query);
-        when(query.list()).thenReturn(customers);
-        when(query.count()).thenReturn(5L);
-        when(customerMapper.toPageResponse(customers, 0, 10, 5L)).thenReturn(expectedPage);
+        when(customerRepository.findPage(CustomerStatus.ACTIVE, 10, 11)).thenReturn(customers);
+        when(customerCountService.count(CountMode.ESTIMATED, CustomerStatus.ACTIVE)).thenReturn(5L);
+        when(customerMapper.toPageResponse(customers, 1, 10, 5L, false)).thenReturn(expectedPage);
 
-        CustomerPageResponse result = customerService.getAllCustomers(0, 10, CustomerStatus.ACTIVE);
+        CustomerPageResponse result = customerService.getAllCustomers(1, 10, CustomerStatus.ACTIVE, CountMode.ESTIMATED);
 
         assertSame(expectedPage, result);
-        verify(customerRepository).findByStatus(CustomerStatus.ACTIVE);
-        verify(customerRepository, never()).findAll();
+        verify(customerRepository).findPage(CustomerStatus.ACTIVE, 10, 11);
+    }
+
+    @Test
+    void testGetAllCustomers_countNone_skipsCountAndDetectsNextPage() {
+        CustomerView first = view(UUID.randomUUID(), null);
+        CustomerView second = view(UUID.randomUUID(), null);
+        CustomerView extra = view(UUID.randomUUID(), null);
+        CustomerPageResponse expectedPage = new CustomerPageResponse();
+
+        when(customerRepository.findPage(null, 0, 3)).thenReturn(List.of(first, second, extra));
+        when(customerMapper.toPageResponse(List.of(first, second), 0, 2, null, true)).thenReturn(expectedPage);
+
+        CustomerPageResponse result = customerService.getAllCustomers(0, 2, null, CountMode.NONE);
+
+        assertSame(expectedPage, result);
+        verifyNoInteractions(customerCountService);
+    }
+
+    @Test
+    void testGetCustomersByCursor_firstPage_hasNextCursor() {
+        CustomerView first = view(UUID.randomUUID(), LocalDateTime.of(2025, 1, 1, 10, 0));
+        CustomerView second = view(UUID.randomUUID(), LocalDateTime.of(2025, 1, 2, 10, 0));
+        CustomerView extra = view(UUID.randomUUID(), LocalDateTime.of(2025, 1, 3, 10, 0));
+        CustomerPageResponse expectedPage = new CustomerPageResponse();
+        String expectedNext = new CustomerCursor(second.createdAt(), second.customerId()).encode();
+
+        when(customerRepository.findPageAfter(null, null, 3)).thenReturn(List.of(first, second, extra));
+        when(customerMapper.toCursorPageResponse(List.of(first, second), 2, null, expectedNext))
+                .thenReturn(expectedPage);
+
+        CustomerPageResponse result = customerService.getCustomersByCursor("", 2, null);
+
+        assertSame(expectedPage, result);
+    }
+
+    @Test
+    void testGetCustomersByCursor_lastPage_noNextCursor() {
+        CustomerCursor cursor = new CustomerCursor(LocalDateTime.of(2025, 1, 1, 10, 0), UUID.randomUUID());
+        List<CustomerView> customers = List.of(view(UUID.randomUUID(), null));
+        CustomerPageResponse expectedPage = new CustomerPageResponse();
+
+        when(customerRepository.findPageAfter(CustomerStatus.ACTIVE, cursor, 11)).thenReturn(customers);
+        when(customerMapper.toCursorPageResponse(customers, 10, cursor.encode(), null)).thenReturn(expectedPage);
+
+        CustomerPageResponse result = customerService.getCustomersByCursor(cursor.encode(), 10, CustomerStatus.ACTIVE);
+
+        assertSame(expectedPage, result);
+    }
+
+    @Test
+    void testGetCustomersByCursor_invalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> customerService.getCustomersByCursor("not-a-cursor", 10, null));
+        verify(customerRepository, never()).findPageAfter(any(), any(), anyInt());
+    }
+
+    private static CustomerView changed(UUID customerId, LocalDateTime updatedAt) {
+        return new CustomerView(customerId, null, null, null, null, null, null, null, null, null, updatedAt, 0L);
+    }
+
+    @Test
+    void testGetChanges_fullPage_advancesWatermarkToLastRow() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        CustomerView first = changed(UUID.randomUUID(), updatedAt);
+        CustomerView second = changed(UUID.randomUUID(), updatedAt);
+        CustomerView extra = changed(UUID.randomUUID(), updatedAt.plusSeconds(1));
+        CustomerChangesResponse expected = new CustomerChangesResponse();
+        String expectedWatermark = new CustomerCursor(updatedAt, second.customerId()).encode();
+
+        when(customerRepository.findChangedAfter(isNull(), any(LocalDateTime.class), eq(3)))
+                .thenReturn(List.of(first, second, extra));
+        when(customerMapper.toChangesResponse(List.of(first, second), null, expectedWatermark, true))
+                .thenReturn(expected);
+
+        assertSame(expected, customerService.getChanges(null, 2));
+        verify(customerRepository, never()).oldestWriteTransactionStart();
+    }
+
+    @Test
+    void testGetChanges_noNewRows_keepsWatermark() {
+        CustomerCursor since = new CustomerCursor(LocalDateTime.of(2025, 1, 1, 10, 0), UUID.randomUUID());
+        CustomerChangesResponse expected = new CustomerChangesResponse();
+
+        when(customerRepository.findChangedAfter(eq(since), any(LocalDateTime.class), eq(101))).thenReturn(List.of());
+        when(customerMapper.toChangesResponse(List.of(), since.encode(), since.encode(), false)).thenReturn(expected);
+
+        assertSame(expected, customerService.getChanges(since.encode(), 100));
+    }
+
+    @Test
+    void testGetChanges_postgres_stopsBeforeOldestOpenWrite() {
+        customerService.dbKind = "postgresql";
+        LocalDateTime oldestWrite = LocalDateTime.now().minusMinutes(10);
+        when(customerRepository.oldestWriteTransactionStart()).thenReturn(Optional.of(oldestWrite));
+        when(customerRepository.findChangedAfter(isNull(), any(LocalDateTime.class), eq(11))).thenReturn(List.of());
+
+        customerService.getChanges(null, 10);
+
+        verify(customerRepository).findChangedAfter(null, oldestWrite.minusSeconds(5), 11);
+    }
+
+    @Test
+    void testGetChanges_invalidWatermark() {
+        assertThrows(IllegalArgumentException.class, () -> customerService.getChanges("not-a-watermark", 10));
+        verify(customerRepository, never()).findChangedAfter(any(), any(), anyInt());
     }
 
     @Test
     void testGetCustomerById_found() {
         UUID customerId = UUID.randomUUID();
-        Customer customer = new Customer();
-        customer.customerId = customerId;
+        CustomerView customer = view(customerId, null);
         CustomerResponse expectedResponse = new CustomerResponse();
         expectedResponse.customerId = customerId;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findViewById(customerId)).thenReturn(Optional.of(customer));
         when(customerMapper.toResponse(customer)).thenReturn(expectedResponse);
 
         CustomerResponse result = customerService.getCustomerById(customerId);
 
         assertEquals(customerId, result.customerId);
+        verify(customerRepository, never()).findByIdOptional(any());
     }
 
     @Test
     void testGetCustomerById_notFound() {
         UUID customerId = UUID.randomUUID();
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findViewById(customerId)).thenReturn(Optional.empty());
 
         CustomerNotFoundException ex = assertThrows(CustomerNotFoundException.class,
                 () -> customerService.getCustomerById(customerId));
@@ -196,11 +357,10 @@ class CustomerServiceTest {
     @Test
     void testGetCustomerByDocument_found() {
         String documentId = "12345678";
-        Customer customer = new Customer();
-        customer.documentId = documentId;
+        CustomerView customer = view(UUID.randomUUID(), null);
         CustomerResponse expectedResponse = new CustomerResponse();
 
-        when(customerRepository.findByDocumentId(documentId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findViewByDocumentId(documentId)).thenReturn(Optional.of(customer));
         when(customerMapper.toResponse(customer)).thenReturn(expectedResponse);
 
         CustomerResponse result = customerService.getCustomerByDocument(documentId);
@@ -211,11 +371,30 @@ class CustomerServiceTest {
     @Test
     void testGetCustomerByDocument_notFound() {
         String documentId = "NOTEXIST";
-        when(customerRepository.findByDocumentId(documentId)).thenReturn(Optional.empty());
+        when(customerRepository.findViewByDocumentId(documentId)).thenReturn(Optional.empty());
 
         CustomerNotFoundException ex = assertThrows(CustomerNotFoundException.class,
                 () -> customerService.getCustomerByDocument(documentId));
         assertTrue(ex.getMessage().contains(documentId));
+        assertEquals(0, ex.getStackTrace().length);
+        verify(notFoundCache).putMissingByDocument(documentId, 0L);
+    }
+
+    @Test
+    void testGetCustomerByDocument_cachedMiss_skipsDatabase() {
+        when(notFoundCache.isMissingByDocument("NOTEXIST")).thenReturn(true);
+
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerByDocument("NOTEXIST"));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testGetVersionById_cachedMiss_skipsDatabase() {
+        UUID customerId = UUID.randomUUID();
+        when(notFoundCache.isMissingById(customerId)).thenReturn(true);
+
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getVersionById(customerId));
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
@@ -240,7 +419,8 @@ class CustomerServiceTest {
 
         assertEquals(customerId, result.customerId);
         verify(customerMapper).updateEntity(customer, request);
-        verify(customerRepository).persist(customer);
+        verify(customerRepository).persistAndFlush(customer);
+        verify(customerChangedEvent).fire(CustomerChangedEvent.of(CustomerChangeType.UPDATED, customer, null));
         verify(successCounter).increment();
     }
 
@@ -255,6 +435,23 @@ class CustomerServiceTest {
                 () -> customerService.updateCustomer(customerId, request));
     }
 
+    @Test
+    void testUpdateCustomer_staleVersion_preconditionFailed() {
+        UUID customerId = UUID.randomUUID();
+        Customer customer = new Customer();
+        customer.customerId = customerId;
+        customer.version = 4;
+
+        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class,
+                () -> customerService.updateCustomer(customerId, new UpdateCustomerRequest(), 3L));
+        assertTrue(ex.getMessage().contains("version 4, not 3"));
+        verify(customerMapper, never()).updateEntity(any(), any());
+        verify(failureCounter).increment();
+        verifyNoInteractions(customerChangedEvent);
+    }
+
     @Test
     void testUpdateCustomer_emailConflict() {
         UUID customerId = UUID.randomUUID();
@@ -272,7 +469,27 @@ class CustomerServiceTest {
                 () -> customerService.updateCustomer(customerId, request));
         assertTrue(ex.getMessage().contains("taken@example.com"));
         verify(failureCounter).increment();
-        verify(customerRepository, never()).persist(any(Customer.class));
+        verify(customerRepository, never()).persistAndFlush(any(Customer.class));
+    }
+
+    @Test
+    void testUpdateCustomer_emailConstraintOnFlush_throwsDuplicate() {
+        UUID customerId = UUID.randomUUID();
+        Customer customer = new Customer();
+        customer.customerId = customerId;
+        customer.email = "old@example.com";
+
+        UpdateCustomerRequest request = new UpdateCustomerRequest();
+        request.email = "taken@example.com";
+
+        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        doThrow(uniqueViolation("uk_customers_email")).when(customerRepository).persistAndFlush(customer);
+
+        DuplicateCustomerException ex = assertThrows(DuplicateCustomerException.class,
+                () -> customerService.updateCustomer(customerId, request));
+        assertTrue(ex.getMessage().contains("taken@example.com"));
+        verify(failureCounter).increment();
+        verifyNoInteractions(customerChangedEvent);
     }
 
     @Test
@@ -295,7 +512,7 @@ class CustomerServiceTest {
         // existsByEmail should NOT be called since email is the same
         verify(customerRepository, never()).existsByEmail(anyString());
         verify(customerMapper).updateEntity(customer, request);
-        verify(customerRepository).persist(customer);
+        verify(customerRepository).persistAndFlush(customer);
         verify(successCounter).increment();
     }
 
@@ -320,19 +537,39 @@ class CustomerServiceTest {
         verify(customerRepository, never()).existsByEmail(anyString());
     }
 
+    private Customer customerWithStatus(UUID customerId, CustomerStatus status) {
+        Customer customer = new Customer();
+        customer.customerId = customerId;
+        customer.status = status;
+        return customer;
+    }
+
     @Test
     void testDeleteCustomer_success() {
         UUID customerId = UUID.randomUUID();
-        Customer customer = new Customer();
-        customer.customerId = customerId;
-        customer.status = CustomerStatus.ACTIVE;
+        Customer customer = customerWithStatus(customerId, CustomerStatus.INACTIVE);
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.compareAndSetStatusLocked(customerId, CustomerStatus.INACTIVE,
+                EnumSet.of(CustomerStatus.PENDING, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED), null))
+                .thenReturn(Optional.of(new CustomerStatusChange(customer, CustomerStatus.ACTIVE)));
 
         customerService.deleteCustomer(customerId);
 
-        assertEquals(CustomerStatus.INACTIVE, customer.status);
-        verify(customerRepository).persist(customer);
+        verify(customerRepository, never()).findByIdOptional(any());
+        verify(customerChangedEvent).fire(new CustomerChangedEvent(CustomerChangeType.DELETED, customerId,
+                null, null, null, CustomerStatus.ACTIVE, CustomerStatus.INACTIVE, 0L));
+        verify(successCounter).increment();
+    }
+
+    @Test
+    void testDeleteCustomer_alreadyInactive_isNoOp() {
+        UUID customerId = UUID.randomUUID();
+        when(customerRepository.findByIdOptional(customerId))
+                .thenReturn(Optional.of(customerWithStatus(customerId, CustomerStatus.INACTIVE)));
+
+        customerService.deleteCustomer(customerId);
+
+        verifyNoInteractions(customerChangedEvent);
         verify(successCounter).increment();
     }
 
@@ -343,14 +580,13 @@ class CustomerServiceTest {
 
         assertThrows(CustomerNotFoundException.class,
                 () -> customerService.deleteCustomer(customerId));
+        verifyNoInteractions(customerChangedEvent);
     }
 
     @Test
     void testUpdateStatus_success() {
         UUID customerId = UUID.randomUUID();
-        Customer customer = new Customer();
-        customer.customerId = customerId;
-        customer.status = CustomerStatus.PENDING;
+        Customer customer = customerWithStatus(customerId, CustomerStatus.ACTIVE);
 
         UpdateStatusRequest request = new UpdateStatusRequest();
         request.status = CustomerStatus.ACTIVE;
@@ -360,17 +596,104 @@ class CustomerServiceTest {
         expectedResponse.customerId = customerId;
         expectedResponse.status = CustomerStatus.ACTIVE;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.compareAndSetStatusLocked(customerId, CustomerStatus.ACTIVE,
+                EnumSet.of(CustomerStatus.PENDING, CustomerStatus.SUSPENDED, CustomerStatus.INACTIVE), null))
+                .thenReturn(Optional.of(new CustomerStatusChange(customer, CustomerStatus.PENDING)));
         when(customerMapper.toResponse(customer)).thenReturn(expectedResponse);
 
         CustomerResponse result = customerService.updateCustomerStatus(customerId, request);
 
-        assertEquals(CustomerStatus.ACTIVE, customer.status);
         assertEquals(CustomerStatus.ACTIVE, result.status);
-        verify(customerRepository).persist(customer);
+        verify(customerChangedEvent).fire(new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, customerId,
+                null, null, null, CustomerStatus.PENDING, CustomerStatus.ACTIVE, 0L));
         verify(successCounter).increment();
     }
 
+    @Test
+    void testUpdateStatus_postgres_usesSingleConditionalUpdate() {
+        customerService.dbKind = "postgresql";
+        UUID customerId = UUID.randomUUID();
+        Customer customer = customerWithStatus(customerId, CustomerStatus.SUSPENDED);
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.status = CustomerStatus.SUSPENDED;
+
+        when(customerRepository.compareAndSetStatus(customerId, CustomerStatus.SUSPENDED,
+                EnumSet.of(CustomerStatus.ACTIVE), null))
+                .thenReturn(Optional.of(new CustomerStatusChange(customer, CustomerStatus.ACTIVE)));
+        when(customerMapper.toResponse(customer)).thenReturn(new CustomerResponse());
+
+        customerService.updateCustomerStatus(customerId, request);
+
+        verify(customerRepository, never()).compareAndSetStatusLocked(any(), any(), any(), any());
+        verify(customerRepository, never()).findByIdOptional(any());
+        verify(customerChangedEvent).fire(new CustomerChangedEvent(CustomerChangeType.STATUS_CHANGED, customerId,
+                null, null, null, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED, 0L));
+    }
+
+    @Test
+    void testUpdateStatus_toPending_postgres_rejectedWithoutConditionalUpdate() {
+        customerService.dbKind = "postgresql";
+        UUID customerId = UUID.randomUUID();
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.status = CustomerStatus.PENDING;
+
+        when(customerRepository.findByIdOptional(customerId))
+                .thenReturn(Optional.of(customerWithStatus(customerId, CustomerStatus.ACTIVE)));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> customerService.updateCustomerStatus(customerId, request));
+        verify(customerRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+        verifyNoInteractions(customerChangedEvent);
+    }
+
+    @Test
+    void testUpdateStatus_toPending_alreadyPending_isNoOp() {
+        customerService.dbKind = "postgresql";
+        UUID customerId = UUID.randomUUID();
+        Customer customer = customerWithStatus(customerId, CustomerStatus.PENDING);
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.status = CustomerStatus.PENDING;
+        CustomerResponse expectedResponse = new CustomerResponse();
+
+        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerMapper.toResponse(customer)).thenReturn(expectedResponse);
+
+        assertSame(expectedResponse, customerService.updateCustomerStatus(customerId, request));
+        verify(customerRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+        verifyNoInteractions(customerChangedEvent);
+    }
+
+    @Test
+    void testUpdateStatus_invalidTransition() {
+        UUID customerId = UUID.randomUUID();
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.status = CustomerStatus.SUSPENDED;
+
+        when(customerRepository.findByIdOptional(customerId))
+                .thenReturn(Optional.of(customerWithStatus(customerId, CustomerStatus.PENDING)));
+
+        InvalidStatusTransitionException ex = assertThrows(InvalidStatusTransitionException.class,
+                () -> customerService.updateCustomerStatus(customerId, request));
+        assertTrue(ex.getMessage().contains("from PENDING to SUSPENDED"));
+        verify(failureCounter).increment();
+        verifyNoInteractions(customerChangedEvent);
+    }
+
+    @Test
+    void testUpdateStatus_sameStatus_returnsCurrentWithoutEvent() {
+        UUID customerId = UUID.randomUUID();
+        Customer customer = customerWithStatus(customerId, CustomerStatus.ACTIVE);
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.status = CustomerStatus.ACTIVE;
+        CustomerResponse expectedResponse = new CustomerResponse();
+
+        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerMapper.toResponse(customer)).thenReturn(expectedResponse);
+
+        assertSame(expectedResponse, customerService.updateCustomerStatus(customerId, request));
+        verifyNoInteractions(customerChangedEvent);
+    }
+
     @Test
     void testUpdateStatus_notFound() {
         UUID customerId = UUID.randomUUID();
@@ -382,4 +705,31 @@ class CustomerServiceTest {
         assertThrows(CustomerNotFoundException.class,
                 () -> customerService.updateCustomerStatus(customerId, request));
     }
+
+    @Test
+    void testUpdateStatus_staleVersion_preconditionFailed() {
+        UUID customerId = UUID.randomUUID();
+        Customer customer = customerWithStatus(customerId, CustomerStatus.PENDING);
+        customer.version = 2;
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.status = CustomerStatus.ACTIVE;
+
+        when(customerRepository.compareAndSetStatusLocked(customerId, CustomerStatus.ACTIVE,
+                EnumSet.of(CustomerStatus.PENDING, CustomerStatus.SUSPENDED, CustomerStatus.INACTIVE), 1L))
+                .thenReturn(Optional.empty());
+        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> customerService.updateCustomerStatus(customerId, request, 1L));
+        verify(failureCounter).increment();
+        verifyNoInteractions(customerChangedEvent);
+    }
+
+    @Test
+    void testGetVersionById_notFound() {
+        UUID customerId = UUID.randomUUID();
+        when(customerRepository.findVersionById(customerId)).thenReturn(Optional.empty());
+
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getVersionById(customerId));
+    }
 }
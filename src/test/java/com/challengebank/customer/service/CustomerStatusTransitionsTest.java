@@ -0,0 +1,37 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.model.enums.CustomerStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerStatusTransitionsTest {
+
+    @Test
+    void testPredecessorsOf() {
+        assertEquals(EnumSet.of(CustomerStatus.PENDING, CustomerStatus.SUSPENDED, CustomerStatus.INACTIVE),
+                CustomerStatusTransitions.predecessorsOf(CustomerStatus.ACTIVE));
+        assertEquals(EnumSet.of(CustomerStatus.ACTIVE),
+                CustomerStatusTransitions.predecessorsOf(CustomerStatus.SUSPENDED));
+        assertEquals(EnumSet.of(CustomerStatus.PENDING, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED),
+                CustomerStatusTransitions.predecessorsOf(CustomerStatus.INACTIVE));
+        assertTrue(CustomerStatusTransitions.predecessorsOf(CustomerStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void testNoSelfTransitions() {
+        for (CustomerStatus status : CustomerStatus.values()) {
+            assertFalse(CustomerStatusTransitions.isAllowed(status, status));
+        }
+    }
+
+    @Test
+    void testPredecessorsOf_returnsCopy() {
+        CustomerStatusTransitions.predecessorsOf(CustomerStatus.ACTIVE).clear();
+
+        assertTrue(CustomerStatusTransitions.isAllowed(CustomerStatus.PENDING, CustomerStatus.ACTIVE));
+        assertFalse(CustomerStatusTransitions.predecessorsOf(CustomerStatus.ACTIVE).isEmpty());
+    }
+}
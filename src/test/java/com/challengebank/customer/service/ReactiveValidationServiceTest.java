@@ -0,0 +1,182 @@
+package com.challengebank.customer.service;
+
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.cache.CustomerStatusCache;
+import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.ValidationResponse;
+import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerStatusView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.PreparedQuery;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveValidationServiceTest {
+
+    @Mock
+    PgPool client;
+
+    @Mock
+    PreparedQuery<RowSet<Row>> preparedQuery;
+
+    @Mock
+    RowSet<Row> rowSet;
+
+    @Mock
+    CustomerStatusCache statusCache;
+
+    @Mock
+    CustomerNotFoundCache notFoundCache;
+
+    @Mock
+    MeterRegistry meterRegistry;
+
+    @Mock
+    Counter validationSuccessCounter;
+
+    @Mock
+    Counter validationFailureCounter;
+
+    ReactiveValidationService reactiveValidationService;
+
+    @BeforeEach
+    void setUp() {
+        when(meterRegistry.counter("customer.validation.success")).thenReturn(validationSuccessCounter);
+        when(meterRegistry.counter("customer.validation.failure")).thenReturn(validationFailureCounter);
+        ValidationService validationService = new ValidationService();
+        validationService.meterRegistry = meterRegistry;
+        validationService.initMetrics();
+
+        reactiveValidationService = new ReactiveValidationService();
+        reactiveValidationService.client = client;
+        reactiveValidationService.statusCache = statusCache;
+        reactiveValidationService.notFoundCache = notFoundCache;
+        reactiveValidationService.validationService = validationService;
+    }
+
+    private void stubQuery(String sql, Row... rows) {
+        when(client.preparedQuery(sql)).thenReturn(preparedQuery);
+        when(preparedQuery.execute(any(Tuple.class))).thenReturn(Uni.createFrom().item(rowSet));
+        stubRows(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows(Row... rows) {
+        RowIterator<Row> iterator = mock(RowIterator.class);
+        if (rows.length == 0) {
+            when(iterator.hasNext()).thenReturn(false);
+        } else {
+            when(iterator.hasNext()).thenReturn(true);
+            when(iterator.next()).thenReturn(rows[0]);
+        }
+        when(rowSet.iterator()).thenReturn(iterator);
+    }
+
+    private Row row(UUID customerId, String documentId, CustomerStatus status) {
+        Row row = mock(Row.class);
+        when(row.getUUID("customer_id")).thenReturn(customerId);
+        when(row.getString("document_id")).thenReturn(documentId);
+        when(row.getString("status")).thenReturn(status.name());
+        return row;
+    }
+
+    @Test
+    void testValidateCustomerById_cacheHit_skipsDatabase() {
+        UUID customerId = UUID.randomUUID();
+        when(statusCache.getById(customerId)).thenReturn(
+                Optional.of(new CustomerStatusView(customerId, "DOC1", CustomerStatus.ACTIVE)));
+
+        ValidationResponse response = reactiveValidationService.validateCustomerById(customerId)
+                .await().indefinitely();
+
+        assertTrue(response.valid);
+        assertEquals(customerId, response.customerId);
+        verifyNoInteractions(client);
+        verify(validationSuccessCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomerById_cacheMiss_loadsAndCaches() {
+        UUID customerId = UUID.randomUUID();
+        when(statusCache.getById(customerId)).thenReturn(Optional.empty());
+        when(statusCache.beginLoad()).thenReturn(7L);
+        stubQuery(ReactiveValidationService.FIND_STATUS_BY_ID, row(customerId, "DOC1", CustomerStatus.SUSPENDED));
+
+        ValidationResponse response = reactiveValidationService.validateCustomerById(customerId)
+                .await().indefinitely();
+
+        assertFalse(response.valid);
+        assertEquals(CustomerStatus.SUSPENDED, response.status);
+        assertEquals("Customer exists but is not active (status: SUSPENDED)", response.message);
+        verify(statusCache).put(new CustomerStatusView(customerId, "DOC1", CustomerStatus.SUSPENDED), 7L);
+        verify(validationFailureCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomer_byDocument_notFound() {
+        ValidateCustomerRequest request = new ValidateCustomerRequest();
+        request.documentId = "MISSING";
+        when(statusCache.getByDocument("MISSING")).thenReturn(Optional.empty());
+        stubQuery(ReactiveValidationService.FIND_STATUS_BY_DOCUMENT);
+
+        ValidationResponse response = reactiveValidationService.validateCustomer(request).await().indefinitely();
+
+        assertFalse(response.valid);
+        assertNull(response.customerId);
+        assertEquals("Customer not found", response.message);
+        verify(statusCache, never()).put(any(), anyLong());
+        verify(notFoundCache).putMissingByDocument("MISSING", 0L);
+        verify(validationFailureCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomerById_cachedMiss_skipsDatabase() {
+        UUID customerId = UUID.randomUUID();
+        when(notFoundCache.isMissingById(customerId)).thenReturn(true);
+
+        ValidationResponse response = reactiveValidationService.validateCustomerById(customerId).await().indefinitely();
+
+        assertFalse(response.valid);
+        verifyNoInteractions(client);
+        verify(validationFailureCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomer_noIdentifier_fails() {
+        ValidateCustomerRequest request = new ValidateCustomerRequest();
+
+        Uni<ValidationResponse> result = reactiveValidationService.validateCustomer(request);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> result.await().indefinitely());
+        assertEquals("At least one of customerId or documentId must be provided", ex.getMessage());
+        verify(validationFailureCounter).increment();
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void testFirstView_emptyRowSet() {
+        stubRows();
+
+        assertTrue(ReactiveValidationService.firstView(rowSet).isEmpty());
+    }
+}
@@ -1,9 +1,15 @@
 package com.challengebank.customer.service;
 
+import com.challengebank.customer.cache.CustomerLookupCoalescer;
+import com.challengebank.customer.cache.CustomerNotFoundCache;
+import com.challengebank.customer.cache.CustomerStatusCache;
+import com.challengebank.customer.cache.CustomerStatusIndex;
 import com.challengebank.customer.model.dto.request.ValidateCustomerRequest;
+import com.challengebank.customer.model.dto.response.BatchValidationResponse;
 import com.challengebank.customer.model.dto.response.ValidationResponse;
 import com.challengebank.customer.model.entity.Customer;
 import com.challengebank.customer.model.enums.CustomerStatus;
+import com.challengebank.customer.model.projection.CustomerStatusView;
 import com.challengebank.customer.repository.CustomerRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -14,10 +20,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +40,18 @@ class ValidationServiceTest {
     @Mock
     CustomerRepository customerRepository;
 
+    @Mock
+    CustomerStatusCache statusCache;
+
+    @Mock
+    CustomerStatusIndex statusIndex;
+
+    @Mock
+    CustomerNotFoundCache notFoundCache;
+
+    @Mock
+    CustomerLookupCoalescer lookupCoalescer;
+
     @Mock
     MeterRegistry meterRegistry;
 
@@ -42,7 +68,11 @@ class ValidationServiceTest {
     void setUp() {
         when(meterRegistry.counter("customer.validation.success")).thenReturn(validationSuccessCounter);
         when(meterRegistry.counter("customer.validation.failure")).thenReturn(validationFailureCounter);
+        validationService.maxBatchSize = 10;
         validationService.initMetrics();
+        // Runs every lookup directly; coalescing itself is covered by CustomerLookupCoalescerTest.
+        lenient().when(lookupCoalescer.load(any(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
     }
 
     @Test
@@ -55,7 +85,7 @@ class ValidationServiceTest {
         ValidateCustomerRequest request = new ValidateCustomerRequest();
         request.customerId = customerId;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
 
         ValidationResponse response = validationService.validateCustomer(request);
 
@@ -76,7 +106,7 @@ class ValidationServiceTest {
         ValidateCustomerRequest request = new ValidateCustomerRequest();
         request.customerId = customerId;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
 
         ValidationResponse response = validationService.validateCustomer(request);
 
@@ -99,7 +129,7 @@ class ValidationServiceTest {
         request.documentId = documentId;
         // customerId is null, so it should go to the documentId branch
 
-        when(customerRepository.findByDocumentId(documentId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findStatusByDocumentId(documentId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
 
         ValidationResponse response = validationService.validateCustomer(request);
 
@@ -117,7 +147,7 @@ class ValidationServiceTest {
         ValidateCustomerRequest request = new ValidateCustomerRequest();
         request.documentId = documentId;
 
-        when(customerRepository.findByDocumentId(documentId)).thenReturn(Optional.empty());
+        when(customerRepository.findStatusByDocumentId(documentId)).thenReturn(Optional.empty());
 
         ValidationResponse response = validationService.validateCustomer(request);
 
@@ -157,7 +187,7 @@ class ValidationServiceTest {
         customer.customerId = customerId;
         customer.status = CustomerStatus.ACTIVE;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
 
         ValidationResponse response = validationService.validateCustomerById(customerId);
 
@@ -172,7 +202,7 @@ class ValidationServiceTest {
     void testValidateCustomerById_notFound() {
         UUID customerId = UUID.randomUUID();
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.empty());
 
         ValidationResponse response = validationService.validateCustomerById(customerId);
 
@@ -190,7 +220,7 @@ class ValidationServiceTest {
         customer.customerId = customerId;
         customer.status = CustomerStatus.SUSPENDED;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
 
         ValidationResponse response = validationService.validateCustomerById(customerId);
 
@@ -209,7 +239,7 @@ class ValidationServiceTest {
         customer.customerId = customerId;
         customer.status = CustomerStatus.PENDING;
 
-        when(customerRepository.findByIdOptional(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
 
         ValidationResponse response = validationService.validateCustomerById(customerId);
 
@@ -220,4 +250,222 @@ class ValidationServiceTest {
         assertTrue(response.message.contains("PENDING"));
         verify(validationFailureCounter).increment();
     }
+
+    @Test
+    void testValidateCustomerById_cacheHit_skipsDatabase() {
+        UUID customerId = UUID.randomUUID();
+        when(statusCache.getById(customerId))
+                .thenReturn(Optional.of(new CustomerStatusView(customerId, "12345678", CustomerStatus.ACTIVE)));
+
+        ValidationResponse response = validationService.validateCustomerById(customerId);
+
+        assertTrue(response.valid);
+        assertEquals(customerId, response.customerId);
+        verifyNoInteractions(customerRepository);
+        verify(validationSuccessCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomerById_cacheMiss_populatesCache() {
+        UUID customerId = UUID.randomUUID();
+        Customer customer = new Customer();
+        customer.customerId = customerId;
+        customer.documentId = "12345678";
+        customer.status = CustomerStatus.SUSPENDED;
+
+        when(statusCache.beginLoad()).thenReturn(7L);
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.of(CustomerStatusView.of(customer)));
+
+        ValidationResponse response = validationService.validateCustomerById(customerId);
+
+        assertFalse(response.valid);
+        verify(statusCache).put(new CustomerStatusView(customerId, "12345678", CustomerStatus.SUSPENDED), 7L);
+    }
+
+    @Test
+    void testValidateCustomerById_indexHit_skipsCacheAndDatabase() {
+        UUID customerId = UUID.randomUUID();
+        when(statusIndex.find(customerId)).thenReturn(CustomerStatus.ACTIVE);
+
+        ValidationResponse response = validationService.validateCustomerById(customerId);
+
+        assertTrue(response.valid);
+        assertEquals(customerId, response.customerId);
+        assertEquals(CustomerStatus.ACTIVE, response.status);
+        verifyNoInteractions(statusCache, customerRepository);
+        verify(validationSuccessCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomerById_indexMiss_backfillsIndex() {
+        UUID customerId = UUID.randomUUID();
+        when(statusIndex.beginLoad()).thenReturn(4L);
+        when(customerRepository.findStatusById(customerId))
+                .thenReturn(Optional.of(new CustomerStatusView(customerId, "12345678", CustomerStatus.SUSPENDED)));
+
+        validationService.validateCustomerById(customerId);
+
+        verify(statusIndex).putLoaded(customerId, CustomerStatus.SUSPENDED, 4L);
+    }
+
+    @Test
+    void testValidateCustomer_byDocumentId_cacheHit_skipsDatabase() {
+        UUID customerId = UUID.randomUUID();
+        ValidateCustomerRequest request = new ValidateCustomerRequest();
+        request.documentId = "12345678";
+
+        when(statusCache.getByDocument("12345678"))
+                .thenReturn(Optional.of(new CustomerStatusView(customerId, "12345678", CustomerStatus.INACTIVE)));
+
+        ValidationResponse response = validationService.validateCustomer(request);
+
+        assertFalse(response.valid);
+        assertEquals(CustomerStatus.INACTIVE, response.status);
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testValidateCustomerById_notFound_notCached() {
+        UUID customerId = UUID.randomUUID();
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.empty());
+
+        validationService.validateCustomerById(customerId);
+
+        verify(statusCache, never()).put(any(), anyLong());
+        verify(statusIndex, never()).putLoaded(any(), any(), anyLong());
+    }
+
+    @Test
+    void testValidateCustomerById_notFound_recordsMiss() {
+        UUID customerId = UUID.randomUUID();
+        when(notFoundCache.beginLoad()).thenReturn(2L);
+        when(customerRepository.findStatusById(customerId)).thenReturn(Optional.empty());
+
+        validationService.validateCustomerById(customerId);
+
+        verify(notFoundCache).putMissingById(customerId, 2L);
+    }
+
+    @Test
+    void testValidateCustomer_byDocumentId_cachedMiss_skipsDatabase() {
+        when(notFoundCache.isMissingByDocument("NOTEXIST")).thenReturn(true);
+
+        ValidationResponse response = validationService.validateCustomer(byDocument("NOTEXIST"));
+
+        assertFalse(response.valid);
+        assertEquals("Customer not found", response.message);
+        verifyNoInteractions(customerRepository);
+        verify(validationFailureCounter).increment();
+    }
+
+    @Test
+    void testValidateCustomers_cachedMisses_leftOutOfQueries() {
+        UUID knownMissingId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(notFoundCache.isMissingById(knownMissingId)).thenReturn(true);
+        when(notFoundCache.isMissingById(unknownId)).thenReturn(false);
+        when(notFoundCache.beginLoad()).thenReturn(5L);
+        when(customerRepository.findStatusesByIds(Set.of(unknownId))).thenReturn(List.of());
+
+        BatchValidationResponse response = validationService.validateCustomers(
+                List.of(byId(knownMissingId), byId(unknownId)));
+
+        assertEquals(2, response.invalidCount);
+        verify(notFoundCache).putMissingById(unknownId, 5L);
+        verify(notFoundCache, never()).putMissingById(eq(knownMissingId), anyLong());
+    }
+
+    private ValidateCustomerRequest byId(UUID customerId) {
+        ValidateCustomerRequest request = new ValidateCustomerRequest();
+        request.customerId = customerId;
+        return request;
+    }
+
+    private ValidateCustomerRequest byDocument(String documentId) {
+        ValidateCustomerRequest request = new ValidateCustomerRequest();
+        request.documentId = documentId;
+        return request;
+    }
+
+    @Test
+    void testValidateCustomers_resolvesWithSetQueriesInInputOrder() {
+        UUID activeId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        UUID cachedId = UUID.randomUUID();
+        UUID documentOwnerId = UUID.randomUUID();
+
+        when(statusCache.getById(any())).thenReturn(Optional.empty());
+        when(statusCache.getById(cachedId))
+                .thenReturn(Optional.of(new CustomerStatusView(cachedId, "C1", CustomerStatus.SUSPENDED)));
+        when(statusCache.beginLoad()).thenReturn(3L);
+        when(customerRepository.findStatusesByIds(Set.of(activeId, missingId)))
+                .thenReturn(List.of(new CustomerStatusView(activeId, "A1", CustomerStatus.ACTIVE)));
+        when(customerRepository.findStatusesByDocumentIds(Set.of("D1")))
+                .thenReturn(List.of(new CustomerStatusView(documentOwnerId, "D1", CustomerStatus.ACTIVE)));
+
+        BatchValidationResponse response = validationService.validateCustomers(List.of(
+                byId(missingId), byDocument("D1"), byId(cachedId), byId(activeId)));
+
+        assertEquals(4, response.results.size());
+        assertFalse(response.results.get(0).valid);
+        assertEquals("Customer not found", response.results.get(0).message);
+        assertTrue(response.results.get(1).valid);
+        assertEquals(documentOwnerId, response.results.get(1).customerId);
+        assertFalse(response.results.get(2).valid);
+        assertEquals(CustomerStatus.SUSPENDED, response.results.get(2).status);
+        assertTrue(response.results.get(3).valid);
+        assertEquals(activeId, response.results.get(3).customerId);
+        assertEquals(2, response.validCount);
+        assertEquals(2, response.invalidCount);
+        verify(validationSuccessCounter, times(2)).increment();
+        verify(validationFailureCounter, times(2)).increment();
+        verify(statusCache).put(new CustomerStatusView(activeId, "A1", CustomerStatus.ACTIVE), 3L);
+        verify(customerRepository, never()).findStatusById(any());
+    }
+
+    @Test
+    void testValidateCustomers_allCached_skipsDatabase() {
+        UUID customerId = UUID.randomUUID();
+        when(statusCache.getById(customerId))
+                .thenReturn(Optional.of(new CustomerStatusView(customerId, "A1", CustomerStatus.ACTIVE)));
+
+        BatchValidationResponse response = validationService.validateCustomers(List.of(byId(customerId)));
+
+        assertTrue(response.results.get(0).valid);
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testValidateCustomers_itemWithoutIdentifier_reportedPerItem() {
+        UUID customerId = UUID.randomUUID();
+        List<ValidateCustomerRequest> items = new ArrayList<>();
+        items.add(byDocument("  "));
+        items.add(null);
+        items.add(byId(customerId));
+        when(customerRepository.findStatusesByIds(Set.of(customerId))).thenReturn(Collections.emptyList());
+
+        BatchValidationResponse response = validationService.validateCustomers(items);
+
+        assertEquals(3, response.results.size());
+        assertEquals("At least one of customerId or documentId must be provided", response.results.get(0).message);
+        assertFalse(response.results.get(1).valid);
+        assertEquals("Customer not found", response.results.get(2).message);
+        assertEquals(3, response.invalidCount);
+        verify(validationFailureCounter, times(3)).increment();
+    }
+
+    @Test
+    void testValidateCustomers_exceedsMaxBatchSize() {
+        List<ValidateCustomerRequest> items = Collections.nCopies(11, byId(UUID.randomUUID()));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> validationService.validateCustomers(items));
+        assertEquals("Batch size 11 exceeds the maximum of 10", ex.getMessage());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testValidateCustomers_empty() {
+        assertThrows(IllegalArgumentException.class, () -> validationService.validateCustomers(List.of()));
+    }
 }